@@ -4,11 +4,16 @@ import com.gradia.model.Profile;
 import com.gradia.model.User;
 import com.gradia.repository.ProfileRepository;
 import com.gradia.repository.UserRepository;
+import com.gradia.service.ExchangeRateService;
+import com.gradia.service.JobMatchingEngine;
+import com.gradia.service.JobSearchCache;
+import com.gradia.service.JobSearchIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,6 +27,10 @@ public class AdminController {
     
     private final UserRepository userRepository;
     private final ProfileRepository profileRepository;
+    private final JobSearchCache jobSearchCache;
+    private final JobMatchingEngine jobMatchingEngine;
+    private final ExchangeRateService exchangeRateService;
+    private final JobSearchIndex jobSearchIndex;
     
     @GetMapping("/users")
     public ResponseEntity<Map<String, Object>> getAllUsers() {
@@ -57,5 +66,59 @@ public class AdminController {
         
         return ResponseEntity.ok(stats);
     }
+    
+    // Job search result cache metrics (hits, misses, evictions, invalidations)
+    @GetMapping("/cache/job-search")
+    public ResponseEntity<Map<String, Object>> getJobSearchCacheStats() {
+        return ResponseEntity.ok(jobSearchCache.stats());
+    }
+    
+    @DeleteMapping("/cache/job-search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> clearJobSearchCache() {
+        jobSearchCache.clear();
+        return ResponseEntity.ok(jobSearchCache.stats());
+    }
+    
+    // Rebuilds job_matches for all candidates in the background (also runs nightly)
+    @PostMapping("/matching/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuildJobMatches() {
+        Map<String, Object> response = new HashMap<>(jobMatchingEngine.status());
+        response.put("started", jobMatchingEngine.startRebuild());
+        return ResponseEntity.accepted().body(response);
+    }
+    
+    @GetMapping("/matching/status")
+    public ResponseEntity<Map<String, Object>> getJobMatchingStatus() {
+        return ResponseEntity.ok(jobMatchingEngine.status());
+    }
+    
+    // USD value of one unit of each currency, used for cross-currency salary filters
+    @GetMapping("/exchange-rates")
+    public ResponseEntity<Map<String, BigDecimal>> getExchangeRates() {
+        return ResponseEntity.ok(exchangeRateService.rates());
+    }
+    
+    // Re-normalizes every job's salary and rebuilds the search index, so only administrators may change rates
+    @PutMapping("/exchange-rates/{currency}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> updateExchangeRate(
+            @PathVariable String currency,
+            @RequestParam BigDecimal usdRate) {
+        try {
+            int jobsUpdated = exchangeRateService.updateRate(currency, usdRate);
+            // The in-memory search index and cached results hold the old normalized salaries
+            jobSearchIndex.rebuild();
+            jobSearchCache.clear();
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("currency", currency.trim().toUpperCase());
+            response.put("usdRate", usdRate);
+            response.put("jobsUpdated", jobsUpdated);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
 }
-
@@ -2,6 +2,7 @@ package com.gradia.controller;
 
 import com.gradia.dto.*;
 import com.gradia.model.Profile;
+import com.gradia.service.CandidateFeedService;
 import com.gradia.service.CandidateService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -20,6 +21,7 @@ import java.util.UUID;
 public class CandidateController {
     
     private final CandidateService candidateService;
+    private final CandidateFeedService candidateFeedService;
     
     // Public endpoint - no authentication required
     @PreAuthorize("permitAll()")
@@ -64,5 +66,21 @@ public class CandidateController {
                     .body(ApiResponse.error(e.getMessage()));
         }
     }
+    
+    // Jobs ranked for the authenticated candidate from their skills, work preference, salary and preferred role
+    @PreAuthorize("hasRole('CANDIDATE')")
+    @GetMapping("/feed")
+    public ResponseEntity<ApiResponse<JobSearchResponse>> getFeed(
+            @RequestParam(required = false, defaultValue = "0") Integer page,
+            @RequestParam(required = false, defaultValue = "20") Integer size,
+            Authentication authentication) {
+        try {
+            UUID userId = UUID.fromString(authentication.getName());
+            ApiResponse<JobSearchResponse> response = candidateFeedService.getFeed(userId, page, size);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
 }
-
@@ -4,18 +4,24 @@ import com.gradia.dto.*;
 import com.gradia.model.FileMetadata;
 import com.gradia.model.Profile;
 import com.gradia.service.CandidateProfileService;
+import com.gradia.service.FileDownload;
 import com.gradia.service.FileStorageService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -178,26 +184,24 @@ public class CandidateProfileController {
     }
     
     @GetMapping("/resumes/{fileId}/download")
-    public ResponseEntity<byte[]> downloadResume(
+    public ResponseEntity<StreamingResponseBody> downloadResume(
             @PathVariable UUID fileId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            WebRequest webRequest,
             Authentication authentication) {
         try {
             UUID userId = UUID.fromString(authentication.getName());
-            byte[] fileContent = fileStorageService.getFileContent(fileId, userId);
-            
-            FileMetadata fileMetadata = fileStorageService.getFileMetadata(fileId);
-            
-            return ResponseEntity.ok()
-                    .header("Content-Disposition", "attachment; filename=\"" + fileMetadata.getFileName() + "\"")
-                    .contentType(MediaType.parseMediaType(fileMetadata.getMimeType()))
-                    .body(fileContent);
+            FileDownload download = fileStorageService.getFileDownload(fileId, userId);
+            return streamFile(download, "attachment", range, webRequest);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
     @GetMapping("/picture/download")
-    public ResponseEntity<byte[]> downloadProfilePicture(
+    public ResponseEntity<StreamingResponseBody> downloadProfilePicture(
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            WebRequest webRequest,
             Authentication authentication) {
         try {
             UUID userId = UUID.fromString(authentication.getName());
@@ -212,12 +216,8 @@ public class CandidateProfileController {
             }
             
             FileMetadata picture = pictures.get(0);
-            byte[] fileContent = fileStorageService.getFileContent(picture.getId(), userId);
-            
-            return ResponseEntity.ok()
-                    .header("Content-Disposition", "inline; filename=\"" + picture.getFileName() + "\"")
-                    .contentType(MediaType.parseMediaType(picture.getMimeType()))
-                    .body(fileContent);
+            FileDownload download = fileStorageService.getFileDownload(picture.getId(), userId);
+            return streamFile(download, "inline", range, webRequest);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -254,5 +254,62 @@ public class CandidateProfileController {
                     .body(ApiResponse.error(e.getMessage()));
         }
     }
+    
+    // Streams the file content. ETag (content hash) and Last-Modified (upload time) answer conditional
+    // requests with 304; a single byte range is served as 206 (several ranges get the whole file)
+    private ResponseEntity<StreamingResponseBody> streamFile(FileDownload download, String disposition,
+                                                            String range, WebRequest webRequest) {
+        String etag = download.getContentHash() != null ? "\"" + download.getContentHash() + "\"" : null;
+        long lastModified = download.getUploadedAt() != null
+            ? download.getUploadedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : -1;
+        boolean notModified = etag != null
+            ? webRequest.checkNotModified(etag, lastModified)
+            : webRequest.checkNotModified(lastModified);
+        if (notModified) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        
+        long length = download.getSize();
+        long start = 0;
+        long end = length - 1;
+        boolean partial = false;
+        // If-Range: the range only applies to the version the client already has part of
+        String ifRange = webRequest.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    partial = true;
+                }
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+        }
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(partial ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition + "; filename=\"" + download.getFileName() + "\"")
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(download.getMimeType() != null
+                    ? MediaType.parseMediaType(download.getMimeType())
+                    : MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(end - start + 1);
+        if (etag != null) {
+            response.eTag(etag);
+        }
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        if (partial) {
+            response.header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        
+        long position = start;
+        long count = end - start + 1;
+        return response.body(out -> download.writeTo(out, position, count));
+    }
 }
-
@@ -3,6 +3,7 @@ package com.gradia.controller;
 import com.gradia.dto.*;
 import com.gradia.model.EmployerProfile;
 import com.gradia.model.FileMetadata;
+import com.gradia.service.CandidateSearchService;
 import com.gradia.service.EmployerService;
 import com.gradia.service.EmployerProfileService;
 import com.gradia.service.FileStorageService;
@@ -17,6 +18,8 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -28,6 +31,7 @@ public class EmployerController {
     private final EmployerService employerService;
     private final EmployerProfileService employerProfileService;
     private final FileStorageService fileStorageService;
+    private final CandidateSearchService candidateSearchService;
     
     // Public endpoint - no authentication required
     @PreAuthorize("permitAll()")
@@ -150,5 +154,42 @@ public class EmployerController {
                     .body(ApiResponse.error(e.getMessage()));
         }
     }
+    
+    // Candidate search for employers: full text on name, location and preferred role plus metadata filters
+    // Keyset paginated: pass nextCursor from the previous page as cursor
+    @PreAuthorize("hasRole('EMPLOYER')")
+    @GetMapping("/candidates/search")
+    public ResponseEntity<ApiResponse<CandidateSearchResponse>> searchCandidates(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) List<String> skills,
+            @RequestParam(required = false, defaultValue = "ALL") String skillMatch,
+            @RequestParam(required = false) List<String> excludeSkills,
+            @RequestParam(required = false) List<String> languages,
+            @RequestParam(required = false) String availabilityStatus,
+            @RequestParam(required = false) String experienceLevel,
+            @RequestParam(required = false) BigDecimal minSalary,
+            @RequestParam(required = false) BigDecimal maxSalary,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false, defaultValue = "20") Integer size) {
+        try {
+            CandidateSearchRequest request = new CandidateSearchRequest();
+            request.setQuery(query);
+            request.setSkills(skills);
+            request.setSkillMatch(skillMatch);
+            request.setExcludeSkills(excludeSkills);
+            request.setLanguages(languages);
+            request.setAvailabilityStatus(availabilityStatus);
+            request.setExperienceLevel(experienceLevel);
+            request.setMinSalary(minSalary);
+            request.setMaxSalary(maxSalary);
+            request.setCursor(cursor);
+            request.setSize(size);
+            
+            ApiResponse<CandidateSearchResponse> response = candidateSearchService.searchCandidates(request);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
 }
-
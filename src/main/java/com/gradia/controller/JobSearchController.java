@@ -3,11 +3,14 @@ package com.gradia.controller;
 import com.gradia.dto.*;
 import com.gradia.service.JobService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/jobs")
@@ -22,25 +25,31 @@ public class JobSearchController {
     @GetMapping
     public ResponseEntity<ApiResponse<JobSearchResponse>> searchJobs(
             @RequestParam(required = false) String query,
+            @RequestParam(required = false, defaultValue = "false") Boolean fuzzy,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) String jobType,
             @RequestParam(required = false) String experienceRequired,
             @RequestParam(required = false) List<String> skills,
+            @RequestParam(required = false, defaultValue = "ANY") String skillMatch,
             @RequestParam(required = false) Double minSalary,
             @RequestParam(required = false) Double maxSalary,
             @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String salaryCurrency,
             @RequestParam(required = false, defaultValue = "ACTIVE") String status,
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @RequestParam(required = false, defaultValue = "20") Integer size,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false, defaultValue = "postedDate") String sortBy,
             @RequestParam(required = false, defaultValue = "DESC") String sortOrder) {
         try {
             JobSearchRequest request = new JobSearchRequest();
             request.setQuery(query);
+            request.setFuzzy(fuzzy);
             request.setLocation(location);
             request.setJobType(jobType);
             request.setExperienceRequired(experienceRequired);
             request.setSkills(skills);
+            request.setSkillMatch(skillMatch);
             if (minSalary != null) {
                 request.setMinSalary(java.math.BigDecimal.valueOf(minSalary));
             }
@@ -48,9 +57,11 @@ public class JobSearchController {
                 request.setMaxSalary(java.math.BigDecimal.valueOf(maxSalary));
             }
             request.setCurrency(currency);
+            request.setSalaryCurrency(salaryCurrency);
             request.setStatus(status);
             request.setPage(page);
             request.setSize(size);
+            request.setCursor(cursor);
             request.setSortBy(sortBy);
             request.setSortOrder(sortOrder);
             
@@ -62,6 +73,37 @@ public class JobSearchController {
         }
     }
     
+    // Public endpoint - typeahead for job titles, skills, companies and locations
+    // Served from an in-memory trie, so it is safe to call on every keystroke
+    @PreAuthorize("permitAll()")
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<JobSuggestionResponse>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false, defaultValue = "10") Integer limit) {
+        try {
+            ApiResponse<List<JobSuggestionResponse>> response = jobService.suggest(prefix, limit);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    // Public endpoint - active jobs most similar to the given job (title, skills, description, requirements)
+    @PreAuthorize("permitAll()")
+    @GetMapping("/{jobId}/similar")
+    public ResponseEntity<ApiResponse<List<JobResponse>>> getSimilarJobs(
+            @PathVariable UUID jobId,
+            @RequestParam(required = false, defaultValue = "10") Integer limit) {
+        try {
+            ApiResponse<List<JobResponse>> response = jobService.getSimilarJobs(jobId, limit);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
     // Public endpoint - get all active jobs (browse)
     @PreAuthorize("permitAll()")
     @GetMapping("/browse")
@@ -74,5 +116,15 @@ public class JobSearchController {
                     .body(ApiResponse.error(e.getMessage()));
         }
     }
+    
+    // Public endpoint - stream all active jobs as NDJSON (one JobResponse per line)
+    // Memory use and time-to-first-byte don't grow with the catalog, unlike /browse
+    @PreAuthorize("permitAll()")
+    @GetMapping(value = "/browse/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAllJobs() {
+        StreamingResponseBody body = jobService::streamActiveJobs;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
 }
-
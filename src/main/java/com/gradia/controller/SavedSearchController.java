@@ -0,0 +1,81 @@
+package com.gradia.controller;
+
+import com.gradia.dto.ApiResponse;
+import com.gradia.dto.JobResponse;
+import com.gradia.dto.SavedSearchRequest;
+import com.gradia.model.SavedSearch;
+import com.gradia.service.SavedSearchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/candidates/saved-searches")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('CANDIDATE')")
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class SavedSearchController {
+    
+    private final SavedSearchService savedSearchService;
+    
+    @PostMapping
+    public ResponseEntity<ApiResponse<SavedSearch>> createSavedSearch(
+            @Valid @RequestBody SavedSearchRequest request,
+            Authentication authentication) {
+        try {
+            UUID userId = UUID.fromString(authentication.getName());
+            ApiResponse<SavedSearch> response = savedSearchService.createSavedSearch(userId, request);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<SavedSearch>>> getSavedSearches(Authentication authentication) {
+        try {
+            UUID userId = UUID.fromString(authentication.getName());
+            ApiResponse<List<SavedSearch>> response = savedSearchService.getSavedSearches(userId);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    // Jobs matched against this saved search when they were published
+    @GetMapping("/{savedSearchId}/matches")
+    public ResponseEntity<ApiResponse<List<JobResponse>>> getMatchedJobs(
+            @PathVariable UUID savedSearchId,
+            Authentication authentication) {
+        try {
+            UUID userId = UUID.fromString(authentication.getName());
+            ApiResponse<List<JobResponse>> response = savedSearchService.getMatchedJobs(userId, savedSearchId);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/{savedSearchId}")
+    public ResponseEntity<ApiResponse<Void>> deleteSavedSearch(
+            @PathVariable UUID savedSearchId,
+            Authentication authentication) {
+        try {
+            UUID userId = UUID.fromString(authentication.getName());
+            ApiResponse<Void> response = savedSearchService.deleteSavedSearch(userId, savedSearchId);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
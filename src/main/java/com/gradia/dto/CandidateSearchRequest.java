@@ -0,0 +1,31 @@
+package com.gradia.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class CandidateSearchRequest {
+    // Search text - matched against full name, location and preferred role
+    private String query;
+    
+    // Skills filter
+    private List<String> skills;
+    private String skillMatch = "ALL"; // ALL (every skill) or ANY (at least one skill)
+    private List<String> excludeSkills; // Candidates with any of these are left out
+    
+    // Languages filter (at least one)
+    private List<String> languages;
+    
+    private String availabilityStatus;
+    private String experienceLevel;
+    
+    // Salary budget: candidates whose expectations overlap [minSalary, maxSalary]
+    private BigDecimal minSalary;
+    private BigDecimal maxSalary;
+    
+    // Keyset cursor on profile (created_at, id), newest first; empty or missing for the first page
+    private String cursor;
+    private Integer size = 20;
+}
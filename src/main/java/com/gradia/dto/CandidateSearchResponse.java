@@ -0,0 +1,19 @@
+package com.gradia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateSearchResponse {
+    private List<CandidateSearchResult> candidates;
+    private Integer pageSize;
+    private Boolean hasNext;
+    private String nextCursor; // Set when another page exists
+}
@@ -0,0 +1,31 @@
+package com.gradia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Candidate as shown in employer search results; contact details are not included
+// Argument order must match ProfileRepository.findCandidateResultsByIds
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandidateSearchResult {
+    private UUID profileId;
+    private String fullName;
+    private String location;
+    private String experienceLevel;
+    private String preferredRole;
+    private String profilePicture;
+    private String[] skills;
+    private String[] languages;
+    private String availabilityStatus;
+    private BigDecimal salaryExpectationMin;
+    private BigDecimal salaryExpectationMax;
+    private Integer noticePeriod;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -12,7 +12,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class JobResponse {
@@ -37,5 +37,6 @@ public class JobResponse {
     private Integer applicationsCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private UUID duplicateOf; // Set when the job nearly repeats an earlier posting of the same employer
 }
 
@@ -9,6 +9,7 @@ import java.util.List;
 public class JobSearchRequest {
     // Search text - searches in title, description, company name, skills
     private String query;
+    private Boolean fuzzy = false; // Typo-tolerant matching on title, skills and location (trigram similarity)
     
     // Location filter
     private String location;
@@ -21,11 +22,17 @@ public class JobSearchRequest {
     
     // Skills filter (array of skills)
     private List<String> skills;
+    private String skillMatch = "ANY"; // ANY (at least one skill) or ALL (every skill)
     
     // Salary range filters
     private BigDecimal minSalary;
     private BigDecimal maxSalary;
     private String currency;
+    // Currency of minSalary / maxSalary: when set they match jobs posted in any currency (compared in USD)
+    private String salaryCurrency;
+    // minSalary / maxSalary converted from salaryCurrency, resolved by JobService
+    private BigDecimal minSalaryUsd;
+    private BigDecimal maxSalaryUsd;
     
     // Status filter (default: ACTIVE only)
     private String status = "ACTIVE"; // ACTIVE, DRAFT, PAUSED, CLOSED, or ALL
@@ -34,6 +41,9 @@ public class JobSearchRequest {
     private Integer page = 0;
     private Integer size = 20;
     
+    // Keyset pagination: when set (empty string = first page), page is ignored and no totals are computed
+    private String cursor;
+    
     // Sorting
     private String sortBy = "postedDate"; // postedDate, relevance, salary
     private String sortOrder = "DESC"; // ASC, DESC
@@ -6,9 +6,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class JobSearchResponse {
@@ -19,5 +20,10 @@ public class JobSearchResponse {
     private Integer pageSize;
     private Boolean hasNext;
     private Boolean hasPrevious;
+    private String nextCursor; // Only set in cursor mode when another page exists
+    
+    // Facet counts, e.g. {"jobType": {"remote": 134, "contract": 52}}
+    // Each facet ignores its own filter so sibling values stay visible; only set for indexed (ACTIVE) page searches
+    private Map<String, Map<String, Long>> facets;
 }
 
@@ -0,0 +1,14 @@
+package com.gradia.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobSuggestionResponse {
+    private String text;
+    private String type; // title, skill, company, location
+    private Integer count; // Number of active jobs with this value
+}
@@ -0,0 +1,15 @@
+package com.gradia.dto;
+
+import com.gradia.model.SavedSearchCriteria;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class SavedSearchRequest {
+    @Size(max = 255, message = "Search name must not exceed 255 characters")
+    private String searchName;
+    
+    @NotNull(message = "Search criteria is required")
+    private SavedSearchCriteria searchCriteria;
+}
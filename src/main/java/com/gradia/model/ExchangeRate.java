@@ -0,0 +1,28 @@
+package com.gradia.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "exchange_rates")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRate {
+    @Id
+    @Column(name = "currency", length = 10)
+    private String currency; // ISO 4217 code, upper case
+    
+    @Column(name = "usd_rate", nullable = false, precision = 20, scale = 10)
+    private BigDecimal usdRate; // USD per unit of currency
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,46 @@
+package com.gradia.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// Reference count of a stored payload, one row per storage provider and content hash.
+// Counted with plain SQL by FileBlobService; mapped so the table is validated and exists under ddl-auto
+@Entity
+@Table(name = "file_blobs")
+@IdClass(FileBlob.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileBlob {
+    @Id
+    @Column(name = "storage_provider", length = 50)
+    private String storageProvider;
+    
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 of the content, hex
+    
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+    
+    @Column(name = "ref_count", nullable = false)
+    private Integer refCount = 0;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String storageProvider;
+        private String contentHash;
+    }
+}
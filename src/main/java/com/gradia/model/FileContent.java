@@ -0,0 +1,40 @@
+package com.gradia.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Content of a file stored in the database (storage_provider DATABASE), kept apart from file_metadata
+// so listing and checking files never reads the bytes. Stored once per content hash and shared by
+// every file with that content (reference counted in file_blobs)
+@Entity
+@Table(name = "file_contents")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileContent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @Column(name = "content_hash", nullable = false, unique = true, length = 64)
+    private String contentHash; // SHA-256 of the content, hex
+    
+    @Column(name = "content", columnDefinition = "BYTEA", nullable = false)
+    @org.hibernate.annotations.JdbcTypeCode(org.hibernate.type.SqlTypes.VARBINARY)
+    private byte[] content;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public FileContent(String contentHash, byte[] content) {
+        this.contentHash = contentHash;
+        this.content = content;
+    }
+}
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -52,6 +54,9 @@ public class FileMetadata {
     @Column(name = "storage_bucket", length = 255)
     private String storageBucket;
     
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // SHA-256 of the content, the BlobStore key when not stored in the database
+    
     @Column(name = "is_public")
     private Boolean isPublic = false;
     
@@ -62,11 +67,13 @@ public class FileMetadata {
     @Column(name = "is_primary")
     private Boolean isPrimary = false; // For multiple resumes, mark one as primary
     
-    @Lob
-    @Column(name = "file_content", columnDefinition = "BYTEA", nullable = true)
-    @JsonIgnore // Don't serialize file content in JSON responses
-    @org.hibernate.annotations.JdbcTypeCode(org.hibernate.type.SqlTypes.VARBINARY)
-    private byte[] fileContent; // File content stored in PostgreSQL
+    // Content when storage_provider is DATABASE; lazy, so metadata queries never read the bytes
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "content_id", nullable = true)
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private FileContent content;
     
     @CreationTimestamp
     @Column(name = "uploaded_at", nullable = false, updatable = false)
@@ -1,5 +1,6 @@
 package com.gradia.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -24,7 +25,7 @@ public class Job {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employer_profile_id", nullable = false)
-    @com.fasterxml.jackson.annotation.JsonIgnore
+    @JsonIgnore
     private EmployerProfile employer; // References employer_profile table
 
     @Column(name = "job_title", nullable = false)
@@ -45,6 +46,14 @@ public class Job {
     @Column(name = "skills", columnDefinition = "TEXT[]")
     private List<String> skills;
 
+    @Column(name = "skills_normalized", columnDefinition = "TEXT[]")
+    @JsonIgnore
+    private List<String> skillsNormalized; // Lowercased, de-duplicated copy of skills (maintained by JobService)
+
+    @Column(name = "skill_ids", columnDefinition = "INTEGER[]")
+    @JsonIgnore
+    private int[] skillIds; // Sorted SkillDictionary ids of skills (maintained by JobService)
+
     @Column(name = "job_type")
     private String jobType; // full-time, part-time, contract, internship, remote
 
@@ -60,6 +69,14 @@ public class Job {
     @Column(name = "currency", length = 10)
     private String currency = "USD";
 
+    @Column(name = "salary_min_usd", precision = 14, scale = 2)
+    @JsonIgnore
+    private BigDecimal salaryMinUsd; // salary_range_min converted with exchange_rates (maintained by JobService)
+
+    @Column(name = "salary_max_usd", precision = 14, scale = 2)
+    @JsonIgnore
+    private BigDecimal salaryMaxUsd;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", length = 50)
     private JobStatus status = JobStatus.DRAFT;
@@ -76,6 +93,9 @@ public class Job {
     @Column(name = "applications_count")
     private Integer applicationsCount = 0;
 
+    @Column(name = "duplicate_of")
+    private UUID duplicateOf; // Earlier posting of the same employer this one nearly repeats (NearDuplicateJobDetector)
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
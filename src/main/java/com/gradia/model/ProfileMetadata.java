@@ -33,12 +33,24 @@ public class ProfileMetadata {
     @Column(name = "skills", columnDefinition = "TEXT[]")
     private String[] skills;
     
+    @Column(name = "skills_normalized", columnDefinition = "TEXT[]")
+    @JsonIgnore
+    private String[] skillsNormalized; // Lowercased, de-duplicated copy of skills (maintained by CandidateProfileService)
+    
+    @Column(name = "skill_ids", columnDefinition = "INTEGER[]")
+    @JsonIgnore
+    private int[] skillIds; // Sorted SkillDictionary ids of skills
+    
     @Column(name = "certifications", columnDefinition = "TEXT[]")
     private String[] certifications;
     
     @Column(name = "languages", columnDefinition = "TEXT[]")
     private String[] languages;
     
+    @Column(name = "languages_normalized", columnDefinition = "TEXT[]")
+    @JsonIgnore
+    private String[] languagesNormalized; // Lowercased, de-duplicated copy of languages
+    
     @Column(name = "availability_status", length = 50)
     private String availabilityStatus;
     
@@ -0,0 +1,24 @@
+package com.gradia.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Filters of a saved search (saved_searches.search_criteria); same meaning as the JobSearchRequest fields
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearchCriteria {
+    private String query;
+    private String location;
+    private String jobType;
+    private String experienceRequired;
+    private List<String> skills;
+    private String skillMatch = "ANY"; // ANY or ALL
+    private BigDecimal minSalary;
+    private BigDecimal maxSalary;
+    private String currency;
+}
@@ -0,0 +1,40 @@
+package com.gradia.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "saved_search_matches",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"saved_search_id", "job_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedSearchMatch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "saved_search_id", nullable = false)
+    @JsonIgnore
+    private SavedSearch savedSearch;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id", nullable = false)
+    @JsonIgnore
+    private Job job;
+    
+    @Column(name = "is_notified", nullable = false)
+    private Boolean isNotified = false;
+    
+    @CreationTimestamp
+    @Column(name = "matched_at", nullable = false, updatable = false)
+    private LocalDateTime matchedAt;
+}
@@ -0,0 +1,20 @@
+package com.gradia.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "skill_aliases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SkillAlias {
+    @Id
+    @Column(name = "alias")
+    private String alias; // Trimmed and lowercased, e.g. "js"
+    
+    @Column(name = "skill_id", nullable = false)
+    private Integer skillId; // Canonical skill, e.g. "javascript"
+}
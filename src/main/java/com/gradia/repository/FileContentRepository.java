@@ -0,0 +1,26 @@
+package com.gradia.repository;
+
+import com.gradia.model.FileContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface FileContentRepository extends JpaRepository<FileContent, UUID> {
+    // Id of stored content with this hash, for sharing it instead of storing it again
+    @Query("SELECT fc.id FROM FileContent fc WHERE fc.contentHash = :contentHash")
+    Optional<UUID> findIdByContentHash(String contentHash);
+    
+    // One slice of the content (start is 1-based), so DATABASE files can be streamed in chunks
+    @Query(value = "SELECT SUBSTRING(content FROM :start FOR :length) FROM file_contents WHERE id = :contentId", nativeQuery = true)
+    byte[] findChunk(UUID contentId, int start, int length);
+    
+    // Deletes without loading the content first (deleteById reads the entity)
+    @Modifying
+    @Query("DELETE FROM FileContent fc WHERE fc.id = :contentId")
+    void deleteByIdWithoutLoading(UUID contentId);
+}
@@ -1,7 +1,9 @@
 package com.gradia.repository;
 
 import com.gradia.model.FileMetadata;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,6 +15,7 @@ public interface FileMetadataRepository extends JpaRepository<FileMetadata, UUID
     // Candidate profile queries
     List<FileMetadata> findByProfileId(UUID profileId);
     List<FileMetadata> findByProfileIdAndFileType(UUID profileId, FileMetadata.FileType fileType);
+    boolean existsByProfileIdAndFileType(UUID profileId, FileMetadata.FileType fileType);
     Optional<FileMetadata> findByProfileIdAndFileTypeAndIsPrimary(UUID profileId, FileMetadata.FileType fileType, Boolean isPrimary);
     long countByProfileIdAndFileType(UUID profileId, FileMetadata.FileType fileType);
     
@@ -29,5 +32,8 @@ public interface FileMetadataRepository extends JpaRepository<FileMetadata, UUID
     // Query to fetch file with employer profile and user for authorization check
     @org.springframework.data.jpa.repository.Query("SELECT fm FROM FileMetadata fm JOIN FETCH fm.employerProfile ep JOIN FETCH ep.user u WHERE fm.id = :fileId")
     java.util.Optional<FileMetadata> findByIdWithEmployerProfile(UUID fileId);
+    
+    // Files still holding their content in file_contents, for BlobMigrationService (ids only, no content)
+    @Query("SELECT fm.id FROM FileMetadata fm WHERE fm.storageProvider = :storageProvider AND fm.content IS NOT NULL ORDER BY fm.uploadedAt")
+    List<UUID> findIdsWithContentByStorageProvider(String storageProvider, Pageable pageable);
 }
-
@@ -1,31 +1,75 @@
 package com.gradia.repository;
 
+import com.gradia.dto.JobResponse;
 import com.gradia.model.Job;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface JobRepository extends JpaRepository<Job, UUID> {
     
+    // JobResponse projection with the employer joined in, so read paths never touch the lazy employer proxy
+    // Argument order must match the JobResponse constructor
+    String JOB_RESPONSE_SELECT = "SELECT new com.gradia.dto.JobResponse(" +
+           "j.id, e.id, e.companyName, j.jobTitle, j.department, j.description, j.requirements, " +
+           "j.experienceRequired, j.skills, j.jobType, j.location, j.salaryRangeMin, j.salaryRangeMax, " +
+           "j.currency, j.status, j.postedDate, j.closingDate, j.viewsCount, j.applicationsCount, " +
+           "j.createdAt, j.updatedAt, j.duplicateOf) " +
+           "FROM Job j JOIN j.employer e ";
+    
     // Find all jobs by employer profile ID
     List<Job> findByEmployerIdOrderByCreatedAtDesc(UUID employerProfileId);
     
     // Find jobs by status
     List<Job> findByStatusOrderByPostedDateDesc(Job.JobStatus status);
     
+    List<Job> findByStatusIn(Collection<Job.JobStatus> statuses);
+    
+    // Employer's jobs as responses in one query
+    @Query(JOB_RESPONSE_SELECT + "WHERE e.id = :employerProfileId ORDER BY j.createdAt DESC")
+    List<JobResponse> findResponsesByEmployerId(@Param("employerProfileId") UUID employerProfileId);
+    
+    // Jobs by status as responses in one query (browse)
+    @Query(JOB_RESPONSE_SELECT + "WHERE j.status = :status ORDER BY j.postedDate DESC")
+    List<JobResponse> findResponsesByStatus(@Param("status") Job.JobStatus status);
+    
+    // Same as findResponsesByStatus but read through a JDBC cursor; must be consumed inside a transaction
+    // Projections aren't managed entities, so memory stays flat regardless of catalog size
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(JOB_RESPONSE_SELECT + "WHERE j.status = :status ORDER BY j.postedDate DESC")
+    Stream<JobResponse> streamResponsesByStatus(@Param("status") Job.JobStatus status);
+    
+    // Hydrate a page of job ids (from the search index or a native search) in one query
+    @Query(JOB_RESPONSE_SELECT + "WHERE j.id IN :jobIds")
+    List<JobResponse> findResponsesByIds(@Param("jobIds") Collection<UUID> jobIds);
+    
     // Find job by ID with employer
     @Query("SELECT j FROM Job j LEFT JOIN FETCH j.employer WHERE j.id = :jobId")
     Optional<Job> findByIdWithEmployer(@Param("jobId") UUID jobId);
     
+    // Find jobs by status with employer (used to build the in-memory search index)
+    @Query("SELECT j FROM Job j JOIN FETCH j.employer WHERE j.status = :status")
+    List<Job> findByStatusWithEmployer(@Param("status") Job.JobStatus status);
+    
     // Count jobs by employer
     long countByEmployerId(UUID employerProfileId);
     
@@ -35,7 +79,8 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
     // Search jobs with filters
     // Note: Skills array search uses native PostgreSQL array functions via Hibernate
     // Using native query with explicit ORDER BY using database column names
-    @Query(value = "SELECT DISTINCT j.* FROM jobs j " +
+    // The native searches return ids only; the page is read through findResponsesByIds
+    @Query(value = "SELECT j.id FROM jobs j " +
            "LEFT JOIN employer_profile e ON j.employer_profile_id = e.id " +
            "WHERE (:status IS NULL OR j.status = CAST(:status AS VARCHAR)) " +
            "AND (:query IS NULL OR " +
@@ -50,6 +95,8 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
            "AND (:minSalary IS NULL OR j.salary_range_max >= :minSalary) " +
            "AND (:maxSalary IS NULL OR j.salary_range_min <= :maxSalary) " +
            "AND (:currency IS NULL OR j.currency = :currency) " +
+           "AND (CAST(:minSalaryUsd AS NUMERIC) IS NULL OR j.salary_max_usd >= CAST(:minSalaryUsd AS NUMERIC)) " +
+           "AND (CAST(:maxSalaryUsd AS NUMERIC) IS NULL OR j.salary_min_usd <= CAST(:maxSalaryUsd AS NUMERIC)) " +
            "ORDER BY j.posted_date DESC NULLS LAST, j.created_at DESC",
            nativeQuery = true,
            countQuery = "SELECT COUNT(DISTINCT j.id) FROM jobs j " +
@@ -66,8 +113,10 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
            "AND (:experienceRequired IS NULL OR j.experience_required = :experienceRequired) " +
            "AND (:minSalary IS NULL OR j.salary_range_max >= :minSalary) " +
            "AND (:maxSalary IS NULL OR j.salary_range_min <= :maxSalary) " +
-           "AND (:currency IS NULL OR j.currency = :currency)")
-    Page<Job> searchJobs(
+           "AND (:currency IS NULL OR j.currency = :currency) " +
+           "AND (CAST(:minSalaryUsd AS NUMERIC) IS NULL OR j.salary_max_usd >= CAST(:minSalaryUsd AS NUMERIC)) " +
+           "AND (CAST(:maxSalaryUsd AS NUMERIC) IS NULL OR j.salary_min_usd <= CAST(:maxSalaryUsd AS NUMERIC)) ")
+    Page<UUID> searchJobs(
         @Param("query") String query,
         @Param("location") String location,
         @Param("jobType") String jobType,
@@ -75,12 +124,16 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
         @Param("minSalary") BigDecimal minSalary,
         @Param("maxSalary") BigDecimal maxSalary,
         @Param("currency") String currency,
+        @Param("minSalaryUsd") BigDecimal minSalaryUsd,
+        @Param("maxSalaryUsd") BigDecimal maxSalaryUsd,
         @Param("status") String status,
         Pageable pageable
     );
     
     // Search jobs with skills filter
-    @Query(value = "SELECT DISTINCT j.* FROM jobs j " +
+    // allSkills / anySkills are PostgreSQL array literals of normalized skills ('{java,spring}')
+    // Containment (@>) and overlap (&&) on skills_normalized are served by idx_jobs_skills_normalized (V10)
+    @Query(value = "SELECT j.id FROM jobs j " +
            "LEFT JOIN employer_profile e ON j.employer_profile_id = e.id " +
            "WHERE (:status IS NULL OR j.status = CAST(:status AS VARCHAR)) " +
            "AND (:query IS NULL OR " +
@@ -95,7 +148,10 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
            "AND (:minSalary IS NULL OR j.salary_range_max >= :minSalary) " +
            "AND (:maxSalary IS NULL OR j.salary_range_min <= :maxSalary) " +
            "AND (:currency IS NULL OR j.currency = :currency) " +
-           "AND (:skill IS NULL OR EXISTS (SELECT 1 FROM unnest(j.skills) AS skill_item WHERE LOWER(skill_item) = LOWER(:skill))) " +
+           "AND (CAST(:minSalaryUsd AS NUMERIC) IS NULL OR j.salary_max_usd >= CAST(:minSalaryUsd AS NUMERIC)) " +
+           "AND (CAST(:maxSalaryUsd AS NUMERIC) IS NULL OR j.salary_min_usd <= CAST(:maxSalaryUsd AS NUMERIC)) " +
+           "AND (CAST(:allSkills AS TEXT[]) IS NULL OR j.skills_normalized @> CAST(:allSkills AS TEXT[])) " +
+           "AND (CAST(:anySkills AS TEXT[]) IS NULL OR j.skills_normalized && CAST(:anySkills AS TEXT[])) " +
            "ORDER BY j.posted_date DESC NULLS LAST, j.created_at DESC",
            nativeQuery = true,
            countQuery = "SELECT COUNT(DISTINCT j.id) FROM jobs j " +
@@ -113,8 +169,11 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
            "AND (:minSalary IS NULL OR j.salary_range_max >= :minSalary) " +
            "AND (:maxSalary IS NULL OR j.salary_range_min <= :maxSalary) " +
            "AND (:currency IS NULL OR j.currency = :currency) " +
-           "AND (:skill IS NULL OR EXISTS (SELECT 1 FROM unnest(j.skills) AS skill_item WHERE LOWER(skill_item) = LOWER(:skill)))")
-    Page<Job> searchJobsWithSkill(
+           "AND (CAST(:minSalaryUsd AS NUMERIC) IS NULL OR j.salary_max_usd >= CAST(:minSalaryUsd AS NUMERIC)) " +
+           "AND (CAST(:maxSalaryUsd AS NUMERIC) IS NULL OR j.salary_min_usd <= CAST(:maxSalaryUsd AS NUMERIC)) " +
+           "AND (CAST(:allSkills AS TEXT[]) IS NULL OR j.skills_normalized @> CAST(:allSkills AS TEXT[])) " +
+           "AND (CAST(:anySkills AS TEXT[]) IS NULL OR j.skills_normalized && CAST(:anySkills AS TEXT[]))")
+    Page<UUID> searchJobsWithSkills(
         @Param("query") String query,
         @Param("location") String location,
         @Param("jobType") String jobType,
@@ -122,9 +181,123 @@ public interface JobRepository extends JpaRepository<Job, UUID> {
         @Param("minSalary") BigDecimal minSalary,
         @Param("maxSalary") BigDecimal maxSalary,
         @Param("currency") String currency,
-        @Param("skill") String skill,
+        @Param("minSalaryUsd") BigDecimal minSalaryUsd,
+        @Param("maxSalaryUsd") BigDecimal maxSalaryUsd,
+        @Param("allSkills") String allSkills,
+        @Param("anySkills") String anySkills,
         @Param("status") String status,
         Pageable pageable
     );
+    
+    // Full-text search over ACTIVE jobs backed by idx_jobs_fulltext (V3)
+    // The @@ expression and the status predicate must match the partial index definition exactly
+    // Ranking uses a weighted vector: title (A), requirements (B), description (C)
+    @Query(value = "SELECT j.id FROM jobs j " +
+           "WHERE j.status = 'ACTIVE' " +
+           "AND to_tsvector('english', COALESCE(j.job_title, '') || ' ' || COALESCE(j.description, '') || ' ' || COALESCE(j.requirements, '')) " +
+           "    @@ to_tsquery('english', :tsQuery) " +
+           "AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%'))) " +
+           "AND (:jobType IS NULL OR j.job_type = :jobType) " +
+           "AND (:experienceRequired IS NULL OR j.experience_required = :experienceRequired) " +
+           "AND (:minSalary IS NULL OR j.salary_range_max >= :minSalary) " +
+           "AND (:maxSalary IS NULL OR j.salary_range_min <= :maxSalary) " +
+           "AND (:currency IS NULL OR j.currency = :currency) " +
+           "AND (CAST(:minSalaryUsd AS NUMERIC) IS NULL OR j.salary_max_usd >= CAST(:minSalaryUsd AS NUMERIC)) " +
+           "AND (CAST(:maxSalaryUsd AS NUMERIC) IS NULL OR j.salary_min_usd <= CAST(:maxSalaryUsd AS NUMERIC)) " +
+           "AND (CAST(:allSkills AS TEXT[]) IS NULL OR j.skills_normalized @> CAST(:allSkills AS TEXT[])) " +
+           "AND (CAST(:anySkills AS TEXT[]) IS NULL OR j.skills_normalized && CAST(:anySkills AS TEXT[])) " +
+           "ORDER BY CASE WHEN :rankByRelevance THEN ts_rank_cd(" +
+           "    setweight(to_tsvector('english', COALESCE(j.job_title, '')), 'A') || " +
+           "    setweight(to_tsvector('english', COALESCE(j.requirements, '')), 'B') || " +
+           "    setweight(to_tsvector('english', COALESCE(j.description, '')), 'C'), " +
+           "    to_tsquery('english', :tsQuery), 32) END DESC NULLS LAST, " +
+           "j.posted_date DESC NULLS LAST, j.created_at DESC",
+           nativeQuery = true,
+           countQuery = "SELECT COUNT(*) FROM jobs j " +
+           "WHERE j.status = 'ACTIVE' " +
+           "AND to_tsvector('english', COALESCE(j.job_title, '') || ' ' || COALESCE(j.description, '') || ' ' || COALESCE(j.requirements, '')) " +
+           "    @@ to_tsquery('english', :tsQuery) " +
+           "AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%'))) " +
+           "AND (:jobType IS NULL OR j.job_type = :jobType) " +
+           "AND (:experienceRequired IS NULL OR j.experience_required = :experienceRequired) " +
+           "AND (:minSalary IS NULL OR j.salary_range_max >= :minSalary) " +
+           "AND (:maxSalary IS NULL OR j.salary_range_min <= :maxSalary) " +
+           "AND (:currency IS NULL OR j.currency = :currency) " +
+           "AND (CAST(:minSalaryUsd AS NUMERIC) IS NULL OR j.salary_max_usd >= CAST(:minSalaryUsd AS NUMERIC)) " +
+           "AND (CAST(:maxSalaryUsd AS NUMERIC) IS NULL OR j.salary_min_usd <= CAST(:maxSalaryUsd AS NUMERIC)) " +
+           "AND (CAST(:allSkills AS TEXT[]) IS NULL OR j.skills_normalized @> CAST(:allSkills AS TEXT[])) " +
+           "AND (CAST(:anySkills AS TEXT[]) IS NULL OR j.skills_normalized && CAST(:anySkills AS TEXT[]))")
+    Page<UUID> searchActiveJobsFullText(
+        @Param("tsQuery") String tsQuery,
+        @Param("location") String location,
+        @Param("jobType") String jobType,
+        @Param("experienceRequired") String experienceRequired,
+        @Param("minSalary") BigDecimal minSalary,
+        @Param("maxSalary") BigDecimal maxSalary,
+        @Param("currency") String currency,
+        @Param("minSalaryUsd") BigDecimal minSalaryUsd,
+        @Param("maxSalaryUsd") BigDecimal maxSalaryUsd,
+        @Param("allSkills") String allSkills,
+        @Param("anySkills") String anySkills,
+        @Param("rankByRelevance") boolean rankByRelevance,
+        Pageable pageable
+    );
+    
+    // Keyset (cursor) search ordered by (posted_date DESC NULLS LAST, created_at DESC, id DESC)
+    // Returns the rows strictly after the cursor with no OFFSET and no count query
+    @Query(value = "SELECT j.id FROM jobs j " +
+           "LEFT JOIN employer_profile e ON j.employer_profile_id = e.id " +
+           "WHERE (:status IS NULL OR j.status = CAST(:status AS VARCHAR)) " +
+           "AND (:query IS NULL OR " +
+           "     LOWER(j.job_title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "     LOWER(j.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "     LOWER(j.location) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "     LOWER(e.company_name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
+           "     EXISTS (SELECT 1 FROM unnest(j.skills) AS skill WHERE LOWER(skill) LIKE LOWER(CONCAT('%', :query, '%')))) " +
+           "AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%'))) " +
+           "AND (:jobType IS NULL OR j.job_type = :jobType) " +
+           "AND (:experienceRequired IS NULL OR j.experience_required = :experienceRequired) " +
+           "AND (:minSalary IS NULL OR j.salary_range_max >= :minSalary) " +
+           "AND (:maxSalary IS NULL OR j.salary_range_min <= :maxSalary) " +
+           "AND (:currency IS NULL OR j.currency = :currency) " +
+           "AND (CAST(:minSalaryUsd AS NUMERIC) IS NULL OR j.salary_max_usd >= CAST(:minSalaryUsd AS NUMERIC)) " +
+           "AND (CAST(:maxSalaryUsd AS NUMERIC) IS NULL OR j.salary_min_usd <= CAST(:maxSalaryUsd AS NUMERIC)) " +
+           "AND (CAST(:allSkills AS TEXT[]) IS NULL OR j.skills_normalized @> CAST(:allSkills AS TEXT[])) " +
+           "AND (CAST(:anySkills AS TEXT[]) IS NULL OR j.skills_normalized && CAST(:anySkills AS TEXT[])) " +
+           "AND (:firstPage = TRUE " +
+           "     OR (:afterUnposted = TRUE AND j.posted_date IS NULL " +
+           "         AND (j.created_at, j.id) < (:cursorCreatedAt, :cursorId)) " +
+           "     OR (:afterUnposted = FALSE AND (j.posted_date IS NULL OR j.posted_date < :cursorPostedDate " +
+           "         OR (j.posted_date = :cursorPostedDate AND (j.created_at, j.id) < (:cursorCreatedAt, :cursorId))))) " +
+           "ORDER BY j.posted_date DESC NULLS LAST, j.created_at DESC, j.id DESC " +
+           "LIMIT :limit",
+           nativeQuery = true)
+    List<UUID> searchJobsAfter(
+        @Param("query") String query,
+        @Param("location") String location,
+        @Param("jobType") String jobType,
+        @Param("experienceRequired") String experienceRequired,
+        @Param("minSalary") BigDecimal minSalary,
+        @Param("maxSalary") BigDecimal maxSalary,
+        @Param("currency") String currency,
+        @Param("minSalaryUsd") BigDecimal minSalaryUsd,
+        @Param("maxSalaryUsd") BigDecimal maxSalaryUsd,
+        @Param("allSkills") String allSkills,
+        @Param("anySkills") String anySkills,
+        @Param("status") String status,
+        @Param("firstPage") boolean firstPage,
+        @Param("afterUnposted") boolean afterUnposted,
+        @Param("cursorPostedDate") LocalDateTime cursorPostedDate,
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorId") UUID cursorId,
+        @Param("limit") int limit
+    );
+    
+    // Re-normalizes salaries after an exchange rate change (ExchangeRateService)
+    @Modifying
+    @Query(value = "UPDATE jobs SET salary_min_usd = ROUND(salary_range_min * :usdRate, 2), " +
+           "salary_max_usd = ROUND(salary_range_max * :usdRate, 2) " +
+           "WHERE UPPER(currency) = :currency",
+           nativeQuery = true)
+    int updateNormalizedSalaries(@Param("currency") String currency, @Param("usdRate") BigDecimal usdRate);
 }
-
@@ -1,14 +1,27 @@
 package com.gradia.repository;
 
 import com.gradia.model.ProfileMetadata;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ProfileMetadataRepository extends JpaRepository<ProfileMetadata, UUID> {
     Optional<ProfileMetadata> findByProfileId(UUID profileId);
+    
+    // One page of candidate metadata after the given id (keyset) with the profile fetched in the same query,
+    // so passes over every candidate (matching, in-memory indexes) never hold them all
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT m FROM ProfileMetadata m JOIN FETCH m.profile p " +
+           "WHERE p.user.role = com.gradia.model.User.UserRole.CANDIDATE AND m.id > :afterId ORDER BY m.id")
+    List<ProfileMetadata> findCandidatesWithProfileAfter(@Param("afterId") UUID afterId, Pageable pageable);
 }
-
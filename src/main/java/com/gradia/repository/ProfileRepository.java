@@ -1,9 +1,16 @@
 package com.gradia.repository;
 
+import com.gradia.dto.CandidateSearchResult;
 import com.gradia.model.Profile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,5 +18,77 @@ import java.util.UUID;
 public interface ProfileRepository extends JpaRepository<Profile, UUID> {
     Optional<Profile> findByUserId(UUID userId);
     Optional<Profile> findByEmail(String email);
-}
 
+    // Candidate search: ProfileMetadata filters and keyset position shared by both search queries
+    // The keyset is (created_at, id), which never changes, so edits don't move a candidate between pages
+    // Skill filters are either resolved up front by SkillBitmapIndex (profileIds) or applied to skill_ids
+    String CANDIDATE_SEARCH_FROM = "SELECT p.id FROM profiles p " +
+           "JOIN users u ON u.id = p.user_id " +
+           "JOIN profile_metadata m ON m.profile_id = p.id " +
+           "WHERE u.role = 'CANDIDATE' ";
+
+    String CANDIDATE_SEARCH_FILTERS =
+           "AND (CAST(:profileIds AS UUID[]) IS NULL OR p.id = ANY(CAST(:profileIds AS UUID[]))) " +
+           "AND (CAST(:allSkillIds AS INTEGER[]) IS NULL OR m.skill_ids @> CAST(:allSkillIds AS INTEGER[])) " +
+           "AND (CAST(:anySkillIds AS INTEGER[]) IS NULL OR m.skill_ids && CAST(:anySkillIds AS INTEGER[])) " +
+           "AND (CAST(:excludedSkillIds AS INTEGER[]) IS NULL " +
+           "    OR NOT COALESCE(m.skill_ids && CAST(:excludedSkillIds AS INTEGER[]), false)) " +
+           "AND (CAST(:languages AS TEXT[]) IS NULL OR m.languages_normalized && CAST(:languages AS TEXT[])) " +
+           "AND (CAST(:availabilityStatus AS TEXT) IS NULL OR LOWER(m.availability_status) = LOWER(CAST(:availabilityStatus AS TEXT))) " +
+           "AND (CAST(:experienceLevel AS TEXT) IS NULL OR LOWER(p.experience_level) = LOWER(CAST(:experienceLevel AS TEXT))) " +
+           "AND (CAST(:minSalary AS NUMERIC) IS NULL OR m.salary_expectation_max >= CAST(:minSalary AS NUMERIC)) " +
+           "AND (CAST(:maxSalary AS NUMERIC) IS NULL OR m.salary_expectation_min <= CAST(:maxSalary AS NUMERIC)) " +
+           "AND (:firstPage = true OR (p.created_at, p.id) < " +
+           "    (CAST(:cursorCreatedAt AS TIMESTAMP), CAST(:cursorId AS UUID))) " +
+           "ORDER BY p.created_at DESC, p.id DESC " +
+           "LIMIT :limit";
+
+    // Text search on idx_profiles_fulltext; the expression must match the index definition (V3)
+    @Query(value = CANDIDATE_SEARCH_FROM +
+           "AND to_tsvector('english', COALESCE(p.full_name, '') || ' ' || COALESCE(p.location, '') || ' ' || COALESCE(p.preferred_role, '')) " +
+           "    @@ to_tsquery('english', :tsQuery) " +
+           CANDIDATE_SEARCH_FILTERS,
+           nativeQuery = true)
+    List<UUID> searchCandidatesFullText(
+        @Param("tsQuery") String tsQuery,
+        @Param("profileIds") String profileIds,
+        @Param("allSkillIds") String allSkillIds,
+        @Param("anySkillIds") String anySkillIds,
+        @Param("excludedSkillIds") String excludedSkillIds,
+        @Param("languages") String languages,
+        @Param("availabilityStatus") String availabilityStatus,
+        @Param("experienceLevel") String experienceLevel,
+        @Param("minSalary") BigDecimal minSalary,
+        @Param("maxSalary") BigDecimal maxSalary,
+        @Param("firstPage") boolean firstPage,
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorId") UUID cursorId,
+        @Param("limit") int limit
+    );
+
+    // Filter-only search (no text); skill id filters use idx_profile_metadata_skill_ids
+    @Query(value = CANDIDATE_SEARCH_FROM + CANDIDATE_SEARCH_FILTERS, nativeQuery = true)
+    List<UUID> searchCandidates(
+        @Param("profileIds") String profileIds,
+        @Param("allSkillIds") String allSkillIds,
+        @Param("anySkillIds") String anySkillIds,
+        @Param("excludedSkillIds") String excludedSkillIds,
+        @Param("languages") String languages,
+        @Param("availabilityStatus") String availabilityStatus,
+        @Param("experienceLevel") String experienceLevel,
+        @Param("minSalary") BigDecimal minSalary,
+        @Param("maxSalary") BigDecimal maxSalary,
+        @Param("firstPage") boolean firstPage,
+        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+        @Param("cursorId") UUID cursorId,
+        @Param("limit") int limit
+    );
+
+    // Hydrates a page of candidate ids as DTOs in one query; no Profile entities (or their lazy user) are loaded
+    @Query("SELECT new com.gradia.dto.CandidateSearchResult(" +
+           "p.id, p.fullName, p.location, p.experienceLevel, p.preferredRole, p.profilePicture, " +
+           "m.skills, m.languages, m.availabilityStatus, m.salaryExpectationMin, m.salaryExpectationMax, " +
+           "m.noticePeriod, p.createdAt, p.updatedAt) " +
+           "FROM ProfileMetadata m JOIN m.profile p WHERE p.id IN :profileIds")
+    List<CandidateSearchResult> findCandidateResultsByIds(@Param("profileIds") Collection<UUID> profileIds);
+}
@@ -0,0 +1,21 @@
+package com.gradia.repository;
+
+import com.gradia.model.SavedSearchMatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SavedSearchMatchRepository extends JpaRepository<SavedSearchMatch, UUID> {
+    // Saved searches already matched to a job, so a job published again is not recorded twice
+    @Query("SELECT m.savedSearch.id FROM SavedSearchMatch m WHERE m.job.id = :jobId")
+    List<UUID> findSavedSearchIdsByJobId(@Param("jobId") UUID jobId);
+    
+    // Matched jobs of a saved search, newest first
+    @Query("SELECT m.job.id FROM SavedSearchMatch m WHERE m.savedSearch.id = :savedSearchId ORDER BY m.matchedAt DESC")
+    List<UUID> findJobIdsBySavedSearchId(@Param("savedSearchId") UUID savedSearchId);
+}
@@ -0,0 +1,9 @@
+package com.gradia.repository;
+
+import com.gradia.model.SkillAlias;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SkillAliasRepository extends JpaRepository<SkillAlias, String> {
+}
@@ -0,0 +1,12 @@
+package com.gradia.repository;
+
+import com.gradia.model.Skill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SkillRepository extends JpaRepository<Skill, Integer> {
+    Optional<Skill> findByName(String name);
+}
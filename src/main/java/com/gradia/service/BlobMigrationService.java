@@ -0,0 +1,65 @@
+package com.gradia.service;
+
+import com.gradia.repository.FileMetadataRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+// Moves file contents stored in the database (file_contents) to the configured BlobStore.
+// Runs in the background in batches; each file is moved in its own transaction, so a failure only
+// leaves that file in the database to be retried on the next run.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlobMigrationService {
+
+    private final FileMetadataRepository fileMetadataRepository;
+    private final FileStorageService fileStorageService;
+
+    @Value("${file.storage.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${file.storage.migration.batch-size:50}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${file.storage.migration.interval-ms:60000}",
+               fixedDelayString = "${file.storage.migration.interval-ms:60000}")
+    public void migrate() {
+        if (!enabled || fileStorageService.isDatabaseStorage()) {
+            return;
+        }
+
+        long migrated = 0;
+        while (true) {
+            // Only ids are read here; the content is loaded one file at a time
+            List<UUID> fileIds = fileMetadataRepository.findIdsWithContentByStorageProvider(
+                FileStorageService.DATABASE_PROVIDER, PageRequest.of(0, batchSize));
+            int moved = 0;
+            for (UUID fileId : fileIds) {
+                try {
+                    if (fileStorageService.migrateToBlobStore(fileId)) {
+                        moved++;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Failed to move content of file {} to the blob store: {}", fileId, e.getMessage());
+                }
+            }
+            migrated += moved;
+            // A batch that moved nothing is made of failing files; they are retried on the next run
+            if (fileIds.size() < batchSize || moved == 0) {
+                break;
+            }
+        }
+
+        if (migrated > 0) {
+            log.info("Moved the content of {} files from the database to the blob store", migrated);
+        }
+    }
+}
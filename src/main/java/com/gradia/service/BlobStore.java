@@ -0,0 +1,36 @@
+package com.gradia.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+
+// Storage for file contents outside file_metadata, selected by FileMetadata.storageProvider.
+// Blobs are content-addressed: the key is the SHA-256 of the content (FileMetadata.contentHash),
+// so storing the same content twice returns the same key and keeps one copy.
+public interface BlobStore {
+
+    // Value of FileMetadata.storageProvider for files kept in this store
+    String provider();
+
+    // Stores the content read from the stream and returns its key; the stream is not closed
+    String put(InputStream content) throws IOException;
+
+    // Streams new content into the store; the caller hashes what it writes and commits under that hash
+    BlobWriter openWriter() throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    // Writes count bytes of the blob starting at position, without reading the whole blob into memory
+    void copyRange(String key, long position, long count, OutputStream out) throws IOException;
+
+    boolean exists(String key);
+
+    void delete(String key) throws IOException;
+
+    interface BlobWriter extends WritableByteChannel {
+
+        // Makes the written content available under key, its SHA-256; closing without commit discards it
+        void commit(String key) throws IOException;
+    }
+}
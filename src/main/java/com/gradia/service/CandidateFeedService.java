@@ -0,0 +1,331 @@
+package com.gradia.service;
+
+import com.gradia.dto.ApiResponse;
+import com.gradia.dto.JobResponse;
+import com.gradia.dto.JobSearchResponse;
+import com.gradia.model.Job;
+import com.gradia.model.Profile;
+import com.gradia.model.ProfileMetadata;
+import com.gradia.repository.JobRepository;
+import com.gradia.repository.ProfileMetadataRepository;
+import com.gradia.repository.ProfileRepository;
+import com.gradia.service.JobMatchScorer.MatchCandidate;
+import com.gradia.service.JobMatchScorer.MatchJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Personalized job feed (/api/candidates/feed).
+// Each candidate's top-K active jobs (JobMatchScorer score plus a preferred role bonus) are computed once and kept
+// in a bounded LRU cache, so a feed page is a cache read. Job changes patch the cached lists in place;
+// a profile change recomputes that candidate's list.
+@Service
+@RequiredArgsConstructor
+public class CandidateFeedService {
+
+    // Feed-only bonus, scaled by the share of Profile.preferredRole tokens found in the job title
+    static final double PREFERRED_ROLE_WEIGHT = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    // Best first; equal scores show the most recently posted job first
+    private static final Comparator<FeedItem> RANKING = Comparator
+        .comparingDouble((FeedItem item) -> item.score).reversed()
+        .thenComparing((FeedItem item) -> item.postedDate, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+        .thenComparing((FeedItem item) -> item.jobId);
+
+    private final ProfileRepository profileRepository;
+    private final ProfileMetadataRepository profileMetadataRepository;
+    private final JobRepository jobRepository;
+    private final SkillDictionary skillDictionary;
+    private final JobService jobService;
+
+    @Value("${job.feed.top-k:200}")
+    private int topK;
+
+    @Value("${job.feed.cache.max-candidates:10000}")
+    private int maxCandidates;
+
+    // User id -> feed, access-ordered so the least recently active candidate is evicted first
+    private final Map<UUID, Feed> feeds = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Feed> eldest) {
+            return size() > maxCandidates;
+        }
+    };
+
+    // Active jobs every feed is ranked from, kept in step with job changes
+    private final Map<UUID, MatchJob> activeJobs = new HashMap<>();
+
+    // Job changes committed while rebuild() reads the database, replayed over what it read (null = removed).
+    // Null while no rebuild is running.
+    private Map<UUID, MatchJob> pendingJobs;
+
+    // Feeds being computed; job changes committed meanwhile are applied to them before they are cached
+    private final List<Computation> computations = new ArrayList<>();
+
+    @Transactional(readOnly = true)
+    public ApiResponse<JobSearchResponse> getFeed(UUID userId, int page, int size) {
+        if (page < 0) {
+            throw new RuntimeException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Feed feed = feed(userId);
+
+        int total;
+        List<UUID> pageIds;
+        synchronized (this) {
+            total = feed.items.size();
+            int from = (int) Math.min((long) page * size, total);
+            int to = Math.min(from + size, total);
+            pageIds = feed.items.subList(from, to).stream()
+                .map(item -> item.jobId)
+                .collect(Collectors.toList());
+        }
+
+        List<JobResponse> jobs = jobService.hydrateJobs(pageIds);
+        JobSearchResponse response = JobSearchResponse.builder()
+            .jobs(jobs)
+            .totalElements((long) total)
+            .totalPages((total + size - 1) / size)
+            .currentPage(page)
+            .pageSize(size)
+            .hasNext((long) (page + 1) * size < total)
+            .hasPrevious(page > 0)
+            .build();
+
+        return ApiResponse.success(response, "Job feed retrieved successfully");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            pendingJobs = new LinkedHashMap<>();
+        }
+
+        List<MatchJob> jobs;
+        try {
+            jobs = jobRepository.findByStatusOrderByPostedDateDesc(Job.JobStatus.ACTIVE).stream()
+                .map(job -> new MatchJob(job, skillDictionary))
+                .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingJobs = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            computations.forEach(computation -> computation.stale = true);
+            activeJobs.clear();
+            jobs.forEach(job -> activeJobs.put(job.id, job));
+            // A change may also be in what was read; replaying it again is harmless
+            pendingJobs.forEach(this::applyJob);
+            pendingJobs = null;
+            feeds.clear();
+        }
+    }
+
+    @TransactionalEventListener
+    public synchronized void onJobChanged(JobChangedEvent event) {
+        Job job = event.getJob();
+        MatchJob matchJob = event.getChangeType() != JobChangedEvent.ChangeType.DELETED
+                && job.getStatus() == Job.JobStatus.ACTIVE
+            ? new MatchJob(job, skillDictionary)
+            : null;
+        applyJob(job.getId(), matchJob);
+        if (pendingJobs != null) {
+            pendingJobs.put(job.getId(), matchJob);
+        }
+
+        feeds.values().removeIf(feed -> !patch(feed, job.getId(), matchJob));
+        computations.forEach(computation -> computation.missedJobs.put(job.getId(), matchJob));
+    }
+
+    @TransactionalEventListener
+    public void onProfileChanged(ProfileChangedEvent event) {
+        UUID userId = event.getProfile().getUser().getId();
+        Computation computation;
+        synchronized (this) {
+            // Feeds of this candidate still being computed use the old profile
+            computations.stream()
+                .filter(running -> running.userId.equals(userId))
+                .forEach(running -> running.stale = true);
+            if (feeds.remove(userId) == null) {
+                return; // Not an active feed reader; computed on their next visit
+            }
+            computation = start(userId);
+        }
+        compute(computation, event.getProfile(), event.getMetadata());
+    }
+
+    private Feed feed(UUID userId) {
+        Computation computation;
+        synchronized (this) {
+            Feed cached = feeds.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            // Registered before the profile is read, so a profile change from here on marks it stale
+            computation = start(userId);
+        }
+
+        Profile profile;
+        ProfileMetadata metadata;
+        try {
+            profile = profileRepository.findByUserId(userId)
+                .orElseThrow(() -> new RuntimeException("Profile not found"));
+            metadata = profileMetadataRepository.findByProfileId(profile.getId())
+                .orElseGet(ProfileMetadata::new);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                computations.remove(computation);
+            }
+            throw e;
+        }
+        return compute(computation, profile, metadata);
+    }
+
+    private Computation start(UUID userId) {
+        Computation computation = new Computation(userId);
+        computations.add(computation);
+        return computation;
+    }
+
+    // One scoring pass over the active jobs, keeping the best topK in a min-heap.
+    // The feed is cached unless its profile changed meanwhile; job changes committed during the pass are applied first.
+    private Feed compute(Computation computation, Profile profile, ProfileMetadata metadata) {
+        List<MatchJob> jobs;
+        synchronized (this) {
+            jobs = new ArrayList<>(activeJobs.values());
+            // Already in the snapshot
+            computation.missedJobs.clear();
+        }
+
+        Feed feed;
+        try {
+            feed = new Feed(
+                MatchCandidate.from(metadata, profile, skillDictionary),
+                new HashSet<>(JobSearchIndex.tokenize(profile.getPreferredRole()))
+            );
+
+            PriorityQueue<FeedItem> top = new PriorityQueue<>(RANKING.reversed());
+            for (MatchJob job : jobs) {
+                top.offer(new FeedItem(job, score(feed, job)));
+                if (top.size() > topK) {
+                    top.poll();
+                }
+            }
+
+            feed.items.addAll(top);
+            feed.items.sort(RANKING);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                computations.remove(computation);
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            computations.remove(computation);
+            boolean complete = true;
+            for (Map.Entry<UUID, MatchJob> missed : computation.missedJobs.entrySet()) {
+                complete &= patch(feed, missed.getKey(), missed.getValue());
+            }
+            if (complete && !computation.stale) {
+                feeds.put(computation.userId, feed);
+            }
+        }
+        return feed;
+    }
+
+    // Moves, adds or removes one job in a feed; false if the feed can no longer be kept
+    private boolean patch(Feed feed, UUID jobId, MatchJob matchJob) {
+        boolean full = feed.items.size() >= topK;
+        boolean removed = feed.items.removeIf(item -> item.jobId.equals(jobId));
+        if (matchJob == null) {
+            // A full list dropping a job no longer knows its next best job
+            return !(removed && full);
+        }
+
+        FeedItem item = new FeedItem(matchJob, score(feed, matchJob));
+        FeedItem last = feed.items.isEmpty() ? null : feed.items.get(feed.items.size() - 1);
+        boolean beatsLast = last == null || RANKING.compare(item, last) < 0;
+        if (!full || beatsLast) {
+            insert(feed.items, item);
+            if (feed.items.size() > topK) {
+                feed.items.remove(feed.items.size() - 1);
+            }
+            return true;
+        }
+        // Fell below the last kept job; jobs outside the list may now rank above it
+        return !removed;
+    }
+
+    // Replaces the job in the catalog; null removes it
+    private void applyJob(UUID jobId, MatchJob job) {
+        if (job != null) {
+            activeJobs.put(jobId, job);
+        } else {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    private static double score(Feed feed, MatchJob job) {
+        double score = JobMatchScorer.score(feed.candidate, job);
+        if (!feed.roleTokens.isEmpty()) {
+            long matched = feed.roleTokens.stream().filter(job.titleTokens::contains).count();
+            score += PREFERRED_ROLE_WEIGHT * matched / feed.roleTokens.size();
+        }
+        return score;
+    }
+
+    private static void insert(List<FeedItem> items, FeedItem item) {
+        int index = Collections.binarySearch(items, item, RANKING);
+        items.add(index >= 0 ? index : -index - 1, item);
+    }
+
+    private static class Feed {
+        private final MatchCandidate candidate;
+        private final Set<String> roleTokens;
+        private final List<FeedItem> items = new ArrayList<>(); // Sorted by RANKING, at most topK
+
+        Feed(MatchCandidate candidate, Set<String> roleTokens) {
+            this.candidate = candidate;
+            this.roleTokens = roleTokens;
+        }
+    }
+
+    private static class Computation {
+        private final UUID userId;
+        private final Map<UUID, MatchJob> missedJobs = new LinkedHashMap<>(); // null = removed
+        private boolean stale;
+
+        Computation(UUID userId) {
+            this.userId = userId;
+        }
+    }
+
+    private static class FeedItem {
+        private final UUID jobId;
+        private final double score;
+        private final LocalDateTime postedDate;
+
+        FeedItem(MatchJob job, double score) {
+            this.jobId = job.id;
+            this.score = score;
+            this.postedDate = job.postedDate;
+        }
+    }
+}
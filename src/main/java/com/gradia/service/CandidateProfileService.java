@@ -7,10 +7,13 @@ import com.gradia.model.User;
 import com.gradia.repository.ProfileRepository;
 import com.gradia.repository.ProfileMetadataRepository;
 import com.gradia.repository.UserRepository;
+import com.gradia.util.SearchFilters;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 @Service
@@ -21,6 +24,8 @@ public class CandidateProfileService {
     private final ProfileRepository profileRepository;
     private final ProfileMetadataRepository profileMetadataRepository;
     private final ProfileCompletenessService completenessService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SkillDictionary skillDictionary;
     
     @Transactional
     public ApiResponse<Profile> updateProfile(UUID userId, ProfileUpdateRequest request) {
@@ -74,12 +79,15 @@ public class CandidateProfileService {
         }
         if (request.getSkills() != null) {
             metadata.setSkills(request.getSkills().length == 0 ? null : request.getSkills());
+            metadata.setSkillsNormalized(normalize(metadata.getSkills()));
+            metadata.setSkillIds(metadata.getSkills() != null ? skillDictionary.toIds(Arrays.asList(metadata.getSkills())) : null);
         }
         if (request.getCertifications() != null) {
             metadata.setCertifications(request.getCertifications().length == 0 ? null : request.getCertifications());
         }
         if (request.getLanguages() != null) {
             metadata.setLanguages(request.getLanguages().length == 0 ? null : request.getLanguages());
+            metadata.setLanguagesNormalized(normalize(metadata.getLanguages()));
         }
         if (request.getAvailabilityStatus() != null) {
             metadata.setAvailabilityStatus(request.getAvailabilityStatus().isEmpty() ? null : request.getAvailabilityStatus());
@@ -97,7 +105,8 @@ public class CandidateProfileService {
             metadata.setNoticePeriod(request.getNoticePeriod());
         }
         
-        profileMetadataRepository.save(metadata);
+        ProfileMetadata savedMetadata = profileMetadataRepository.save(metadata);
+        eventPublisher.publishEvent(new ProfileChangedEvent(savedProfile, savedMetadata));
         
         return ApiResponse.success(savedProfile, "Profile updated successfully");
     }
@@ -154,6 +163,14 @@ public class CandidateProfileService {
         return ApiResponse.success(fullProfile, "Profile retrieved successfully");
     }
     
+    // Same normalization as jobs.skills_normalized, kept in the *_normalized columns for candidate search
+    private static String[] normalize(String[] values) {
+        if (values == null) {
+            return null;
+        }
+        return SearchFilters.normalizeSkills(Arrays.asList(values)).toArray(new String[0]);
+    }
+    
     // Inner class for response
     @lombok.Data
     @lombok.AllArgsConstructor
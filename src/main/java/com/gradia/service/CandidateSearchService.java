@@ -0,0 +1,147 @@
+package com.gradia.service;
+
+import com.gradia.dto.ApiResponse;
+import com.gradia.dto.CandidateSearchRequest;
+import com.gradia.dto.CandidateSearchResponse;
+import com.gradia.dto.CandidateSearchResult;
+import com.gradia.repository.ProfileRepository;
+import com.gradia.util.SearchFilters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Employer-side candidate search: full text on idx_profiles_fulltext plus ProfileMetadata array filters,
+// keyset-paginated on (created_at, id), newest profile first, and returned as DTO projections.
+// Skill filters are answered by SkillBitmapIndex and handed to SQL as a profile id list when that list is small.
+@Service
+@RequiredArgsConstructor
+public class CandidateSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    // Above this many matching profiles the skill_ids GIN index beats shipping the ids to PostgreSQL
+    private static final int MAX_BITMAP_PROFILE_IDS = 5000;
+
+    private final ProfileRepository profileRepository;
+    private final SkillDictionary skillDictionary;
+    private final SkillBitmapIndex skillBitmapIndex;
+
+    @Transactional(readOnly = true)
+    public ApiResponse<CandidateSearchResponse> searchCandidates(CandidateSearchRequest request) {
+        int size = request.getSize() != null ? request.getSize() : 20;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        CandidateSearchCursor cursor = request.getCursor() == null || request.getCursor().isBlank()
+            ? null
+            : CandidateSearchCursor.decode(request.getCursor());
+
+        boolean matchAllSkills = !"ANY".equalsIgnoreCase(request.getSkillMatch());
+        List<String> skills = SearchFilters.normalizeSkills(request.getSkills());
+        int[] skillIds = skillDictionary.lookupIds(skills);
+        int[] allSkillIds = matchAllSkills ? skillIds : new int[0];
+        int[] anySkillIds = matchAllSkills ? new int[0] : skillIds;
+        int[] excludedSkillIds = skillDictionary.lookupIds(request.getExcludeSkills());
+        String languages = SearchFilters.toArrayLiteral(SearchFilters.normalizeSkills(request.getLanguages()));
+        String tsQuery = JobService.toTsQuery(request.getQuery());
+
+        // Skills missing from the dictionary are held by no one
+        boolean skillsFilter = skills != null && !skills.isEmpty();
+        boolean noCandidateHasSkills = skillsFilter && (matchAllSkills
+            ? skills.stream().anyMatch(skill -> skillDictionary.lookupIds(List.of(skill)).length == 0)
+            : skillIds.length == 0);
+
+        String profileIdsFilter = null;
+        List<UUID> skillMatches = null;
+        if ((skillsFilter || excludedSkillIds.length > 0) && !noCandidateHasSkills && skillBitmapIndex.isReady()) {
+            skillMatches = skillBitmapIndex.findCandidates(allSkillIds, anySkillIds, excludedSkillIds);
+            if (skillMatches.size() <= MAX_BITMAP_PROFILE_IDS) {
+                profileIdsFilter = SearchFilters.toArrayLiteral(
+                    skillMatches.stream().map(UUID::toString).collect(Collectors.toList()));
+            }
+        }
+        // Either the bitmap ids or the skill id filters go to SQL, never both
+        String allSkillsFilter = profileIdsFilter == null ? toArrayLiteral(allSkillIds) : null;
+        String anySkillsFilter = profileIdsFilter == null ? toArrayLiteral(anySkillIds) : null;
+        String excludedSkillsFilter = profileIdsFilter == null ? toArrayLiteral(excludedSkillIds) : null;
+
+        // One extra row tells whether another page exists
+        List<UUID> profileIds;
+        if (noCandidateHasSkills || (skillMatches != null && skillMatches.isEmpty())) {
+            profileIds = List.of();
+        } else if (tsQuery != null) {
+            profileIds = profileRepository.searchCandidatesFullText(
+                tsQuery, profileIdsFilter, allSkillsFilter, anySkillsFilter, excludedSkillsFilter, languages,
+                blankToNull(request.getAvailabilityStatus()), blankToNull(request.getExperienceLevel()),
+                request.getMinSalary(), request.getMaxSalary(),
+                cursor == null,
+                cursor != null ? cursor.getCreatedAt() : null,
+                cursor != null ? cursor.getId() : null,
+                size + 1);
+        } else {
+            profileIds = profileRepository.searchCandidates(
+                profileIdsFilter, allSkillsFilter, anySkillsFilter, excludedSkillsFilter, languages,
+                blankToNull(request.getAvailabilityStatus()), blankToNull(request.getExperienceLevel()),
+                request.getMinSalary(), request.getMaxSalary(),
+                cursor == null,
+                cursor != null ? cursor.getCreatedAt() : null,
+                cursor != null ? cursor.getId() : null,
+                size + 1);
+        }
+
+        boolean hasNext = profileIds.size() > size;
+        List<CandidateSearchResult> candidates = hydrate(hasNext ? profileIds.subList(0, size) : profileIds);
+
+        String nextCursor = null;
+        if (hasNext && !candidates.isEmpty()) {
+            CandidateSearchResult last = candidates.get(candidates.size() - 1);
+            nextCursor = new CandidateSearchCursor(last.getCreatedAt(), last.getProfileId()).encode();
+        }
+
+        CandidateSearchResponse response = CandidateSearchResponse.builder()
+            .candidates(candidates)
+            .pageSize(size)
+            .hasNext(hasNext)
+            .nextCursor(nextCursor)
+            .build();
+
+        return ApiResponse.success(response, "Candidates retrieved successfully");
+    }
+
+    // Keeps the keyset order of the ids
+    private List<CandidateSearchResult> hydrate(List<UUID> profileIds) {
+        if (profileIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, CandidateSearchResult> resultsById = profileRepository.findCandidateResultsByIds(profileIds).stream()
+            .collect(Collectors.toMap(CandidateSearchResult::getProfileId, Function.identity()));
+
+        return profileIds.stream()
+            .map(resultsById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    // PostgreSQL INTEGER[] literal, or null when there are no ids
+    private static String toArrayLiteral(int[] ids) {
+        if (ids.length == 0) {
+            return null;
+        }
+        return Arrays.stream(ids)
+            .mapToObj(String::valueOf)
+            .collect(Collectors.joining(",", "{", "}"));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
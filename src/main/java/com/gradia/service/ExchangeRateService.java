@@ -0,0 +1,101 @@
+package com.gradia.service;
+
+import com.gradia.model.ExchangeRate;
+import com.gradia.repository.ExchangeRateRepository;
+import com.gradia.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Local exchange rates (exchange_rates) used to keep jobs.salary_min_usd / salary_max_usd,
+// so a salary filter in one currency matches jobs posted in any currency
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExchangeRateService {
+
+    public static final String BASE_CURRENCY = "USD";
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final JobRepository jobRepository;
+
+    private final Map<String, BigDecimal> usdRates = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    // Amount in USD, or null when the amount is missing or the currency has no rate
+    public BigDecimal toUsd(BigDecimal amount, String currency) {
+        if (amount == null) {
+            return null;
+        }
+        BigDecimal rate = usdRate(currency);
+        return rate != null ? amount.multiply(rate).setScale(2, RoundingMode.HALF_UP) : null;
+    }
+
+    public BigDecimal usdRate(String currency) {
+        String code = code(currency);
+        if (code == null) {
+            return null;
+        }
+        if (BASE_CURRENCY.equals(code)) {
+            return BigDecimal.ONE;
+        }
+        ensureLoaded();
+        return usdRates.get(code);
+    }
+
+    public Map<String, BigDecimal> rates() {
+        ensureLoaded();
+        Map<String, BigDecimal> rates = new TreeMap<>(usdRates);
+        rates.put(BASE_CURRENCY, BigDecimal.ONE);
+        return rates;
+    }
+
+    // Stores the rate and re-normalizes the salaries of every job posted in that currency; returns the jobs updated
+    // In-memory copies of the normalized salaries (JobSearchIndex, JobSearchCache) must be rebuilt by the caller
+    @Transactional
+    public int updateRate(String currency, BigDecimal usdRate) {
+        String code = code(currency);
+        if (code == null || BASE_CURRENCY.equals(code)) {
+            throw new RuntimeException("Currency must be set and differ from " + BASE_CURRENCY);
+        }
+        if (usdRate == null || usdRate.signum() <= 0) {
+            throw new RuntimeException("Exchange rate must be positive");
+        }
+
+        exchangeRateRepository.save(new ExchangeRate(code, usdRate, null));
+        int updated = jobRepository.updateNormalizedSalaries(code, usdRate);
+        ensureLoaded();
+        usdRates.put(code, usdRate);
+
+        log.info("Exchange rate {} set to {} USD, {} jobs re-normalized", code, usdRate, updated);
+        return updated;
+    }
+
+    public synchronized void reload() {
+        usdRates.clear();
+        for (ExchangeRate rate : exchangeRateRepository.findAll()) {
+            usdRates.put(rate.getCurrency(), rate.getUsdRate());
+        }
+        loaded = true;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+
+    private static String code(String currency) {
+        return currency == null || currency.isBlank() ? null : currency.trim().toUpperCase(Locale.ROOT);
+    }
+}
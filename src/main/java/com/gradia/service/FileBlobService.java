@@ -0,0 +1,151 @@
+package com.gradia.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+
+// Reference counts of stored payloads (file_blobs): one row per distinct content hash and storage provider,
+// counting the file_metadata rows that share it. A payload is stored once and deleted with its last reference.
+@Slf4j
+@Component
+public class FileBlobService {
+
+    // Plain SQL that runs on PostgreSQL and H2 alike: lock the row, then update it or insert it
+    private static final String LOCK_SQL =
+        "SELECT ref_count FROM file_blobs WHERE storage_provider = ? AND content_hash = ? FOR UPDATE";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO file_blobs (storage_provider, content_hash, size_bytes, ref_count, created_at) " +
+        "VALUES (?, ?, ?, 0, CURRENT_TIMESTAMP)";
+
+    private static final String ADD_REFERENCES_SQL =
+        "UPDATE file_blobs SET ref_count = ref_count + ? WHERE storage_provider = ? AND content_hash = ?";
+
+    private static final String DELETE_UNREFERENCED_SQL =
+        "DELETE FROM file_blobs WHERE storage_provider = ? AND content_hash = ? AND ref_count = 0";
+
+    private final JdbcTemplate jdbcTemplate;
+    // Joins the caller's transaction and scopes the savepoint around a new row's insert
+    private final TransactionTemplate inCallerTransaction;
+    // Purges run after the releasing transaction has committed, in a transaction of their own
+    private final TransactionTemplate requiresNew;
+
+    public FileBlobService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.inCallerTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Adds a reference, creating the row for new content. Holds the row lock until the caller commits,
+    // so a concurrent purge of the same content waits and then sees the reference
+    public void acquire(String storageProvider, String contentHash, long size) {
+        inCallerTransaction.executeWithoutResult(tx -> {
+            lockOrInsert(storageProvider, contentHash, size, tx);
+            jdbcTemplate.update(ADD_REFERENCES_SQL, 1, storageProvider, contentHash);
+        });
+    }
+
+    // Drops a reference; true when it was the last one and the payload should go
+    public boolean release(String storageProvider, String contentHash) {
+        List<Integer> counts = jdbcTemplate.queryForList(LOCK_SQL, Integer.class, storageProvider, contentHash);
+        if (counts.isEmpty() || counts.get(0) == 0) {
+            return false;
+        }
+        jdbcTemplate.update(ADD_REFERENCES_SQL, -1, storageProvider, contentHash);
+        return counts.get(0) == 1;
+    }
+
+    // Removes the row of released content whose payload the caller deletes in the same transaction
+    public void forget(String storageProvider, String contentHash) {
+        jdbcTemplate.update(DELETE_UNREFERENCED_SQL, storageProvider, contentHash);
+    }
+
+    // Deletes a released blob once the current transaction commits, unless it has been referenced again by then.
+    // The row is locked while the blob is deleted; uploads take their reference before putting the blob in place,
+    // so an upload racing the purge always ends with its blob on disk.
+    public void purgeAfterCommit(BlobStore blobStore, String contentHash) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    requiresNew.executeWithoutResult(tx -> purge(blobStore, contentHash));
+                } catch (RuntimeException e) {
+                    log.warn("Failed to purge blob {}: {}", contentHash, e.getMessage());
+                }
+            }
+        });
+    }
+
+    // Deletes a blob the current transaction put in place if the transaction rolls back, unless committed files
+    // reference the same content. The row is locked, or inserted so that a concurrent upload of the same content
+    // still holding its reference is waited for, before the blob is deleted.
+    public void purgeAfterRollback(BlobStore blobStore, String contentHash, long size) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_ROLLED_BACK) {
+                    return;
+                }
+                try {
+                    requiresNew.executeWithoutResult(tx -> {
+                        if (lockOrInsert(blobStore.provider(), contentHash, size, tx) == 0) {
+                            delete(blobStore, contentHash);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    log.warn("Failed to purge blob {} of a rolled back transaction: {}", contentHash, e.getMessage());
+                }
+            }
+        });
+    }
+
+    // Locks the content's row, inserting it with no references if it doesn't exist yet; returns its ref_count.
+    // A concurrent insert of the same row makes this one wait for it, then fail on the key; the insert is undone
+    // to its savepoint and the committed row is locked instead
+    private int lockOrInsert(String storageProvider, String contentHash, long size, TransactionStatus tx) {
+        List<Integer> counts = jdbcTemplate.queryForList(LOCK_SQL, Integer.class, storageProvider, contentHash);
+        if (!counts.isEmpty()) {
+            return counts.get(0);
+        }
+        Object savepoint = tx.createSavepoint();
+        try {
+            jdbcTemplate.update(INSERT_SQL, storageProvider, contentHash, size);
+            tx.releaseSavepoint(savepoint);
+            return 0;
+        } catch (DuplicateKeyException e) {
+            tx.rollbackToSavepoint(savepoint);
+            return jdbcTemplate.queryForList(LOCK_SQL, Integer.class, storageProvider, contentHash).stream()
+                .findFirst()
+                .orElseThrow(() -> e);
+        }
+    }
+
+    private void purge(BlobStore blobStore, String contentHash) {
+        List<Integer> counts = jdbcTemplate.queryForList(LOCK_SQL, Integer.class, blobStore.provider(), contentHash);
+        if (counts.isEmpty() || counts.get(0) > 0) {
+            return; // Already purged, or referenced again
+        }
+        delete(blobStore, contentHash);
+    }
+
+    // Deletes an unreferenced blob and its row; the caller holds the row lock
+    private void delete(BlobStore blobStore, String contentHash) {
+        try {
+            blobStore.delete(contentHash);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to delete blob: " + e.getMessage());
+        }
+        jdbcTemplate.update(DELETE_UNREFERENCED_SQL, blobStore.provider(), contentHash);
+    }
+}
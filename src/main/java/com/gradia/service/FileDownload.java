@@ -0,0 +1,31 @@
+package com.gradia.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+// A file ready to be streamed: its metadata plus a writer for any byte range of the content,
+// so a download never holds the whole file in memory
+@Getter
+@AllArgsConstructor
+public class FileDownload {
+
+    private final String fileName;
+    private final String mimeType;
+    private final long size;
+    private final String contentHash; // Null for files uploaded before content hashes were kept
+    private final LocalDateTime uploadedAt;
+    private final RangeWriter content;
+
+    public void writeTo(OutputStream out, long position, long count) throws IOException {
+        content.write(out, position, count);
+    }
+
+    @FunctionalInterface
+    public interface RangeWriter {
+        void write(OutputStream out, long position, long count) throws IOException;
+    }
+}
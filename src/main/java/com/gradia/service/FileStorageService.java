@@ -1,29 +1,50 @@
 package com.gradia.service;
 
 import com.gradia.model.EmployerProfile;
+import com.gradia.model.FileContent;
 import com.gradia.model.FileMetadata;
 import com.gradia.model.Profile;
 import com.gradia.repository.EmployerProfileRepository;
+import com.gradia.repository.FileContentRepository;
 import com.gradia.repository.FileMetadataRepository;
 import com.gradia.repository.ProfileRepository;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class FileStorageService {
     
+    // storage_provider of files whose content is kept in the database (file_contents)
+    public static final String DATABASE_PROVIDER = "DATABASE";
+    // Bytes read from file_contents per query when streaming a DATABASE file
+    private static final int DATABASE_CHUNK_SIZE = 1024 * 1024;
+    
     private final FileMetadataRepository fileMetadataRepository;
+    private final FileContentRepository fileContentRepository;
     private final ProfileRepository profileRepository;
     private final EmployerProfileRepository employerProfileRepository;
     private final EntityManager entityManager;
+    private final List<BlobStore> blobStores;
+    private final UploadStreamer uploadStreamer;
+    private final FileBlobService fileBlobService;
+    
+    // Where new uploads go: a BlobStore provider, or DATABASE
+    @Value("${file.storage.provider:LOCAL}")
+    private String storageProvider;
     
     // Upload file for candidate profile
     @Transactional
@@ -68,8 +89,29 @@ public class FileStorageService {
             throw new RuntimeException("File size exceeds maximum limit of 10MB");
         }
         
-        // Read file content into byte array
-        byte[] fileContent = file.getBytes();
+        // Content is streamed in chunks to the configured BlobStore, or into file_contents for DATABASE;
+        // the size, hash and file signature are checked on the way rather than on a full copy in memory.
+        // Content already stored (same hash) is shared by reference instead of being stored again.
+        BlobStore blobStore = isDatabaseStorage() ? null : blobStore(storageProvider);
+        FileContent databaseContent = null;
+        UploadStreamer.StreamedFile streamed;
+        if (blobStore != null) {
+            try (BlobStore.BlobWriter writer = blobStore.openWriter()) {
+                streamed = uploadStreamer.stream(file, extension, maxSize, writer);
+                // Referenced before the blob is put in place, so a concurrent purge of the same content can't remove it
+                fileBlobService.acquire(blobStore.provider(), streamed.getContentHash(), streamed.getSize());
+                writer.commit(streamed.getContentHash());
+                fileBlobService.purgeAfterRollback(blobStore, streamed.getContentHash(), streamed.getSize());
+            }
+        } else {
+            ByteArrayOutputStream content = new ByteArrayOutputStream((int) file.getSize());
+            streamed = uploadStreamer.stream(file, extension, maxSize, Channels.newChannel(content));
+            fileBlobService.acquire(DATABASE_PROVIDER, streamed.getContentHash(), streamed.getSize());
+            databaseContent = fileContentRepository.findIdByContentHash(streamed.getContentHash())
+                .map(id -> entityManager.getReference(FileContent.class, id))
+                .orElseGet(() -> fileContentRepository.save(new FileContent(streamed.getContentHash(), content.toByteArray())));
+        }
+        String contentHash = streamed.getContentHash();
         
         // If this is primary, FIRST unset existing primary files BEFORE creating new one
         // This prevents unique constraint violation on idx_file_metadata_unique_primary
@@ -97,9 +139,11 @@ public class FileStorageService {
         }
         
         // Generate file path for reference (not used for storage, but kept for compatibility)
-        String filePath = "database://" + profileIdString + "/" + UUID.randomUUID() + "." + extension;
+        String filePath = blobStore != null
+            ? blobLocation(blobStore, contentHash)
+            : "database://" + profileIdString + "/" + UUID.randomUUID() + "." + extension;
         
-        // Create file metadata with content stored in database
+        // Create file metadata
         FileMetadata fileMetadata = new FileMetadata();
         if (profileId != null) {
             // Use getReference to get a managed entity proxy without loading from DB
@@ -113,10 +157,11 @@ public class FileStorageService {
         fileMetadata.setFileType(fileType);
         fileMetadata.setFileName(originalFilename);
         fileMetadata.setFilePath(filePath);
-        fileMetadata.setFileSize(file.getSize());
+        fileMetadata.setFileSize(streamed.getSize());
         fileMetadata.setMimeType(file.getContentType());
-        fileMetadata.setStorageProvider("DATABASE");
-        fileMetadata.setFileContent(fileContent); // Store file content in PostgreSQL
+        fileMetadata.setStorageProvider(blobStore != null ? blobStore.provider() : DATABASE_PROVIDER);
+        fileMetadata.setContentHash(contentHash);
+        fileMetadata.setContent(databaseContent); // Only set for DATABASE storage
         fileMetadata.setIsPrimary(isPrimary);
         fileMetadata.setUploadStatus(FileMetadata.UploadStatus.COMPLETED);
         
@@ -143,11 +188,49 @@ public class FileStorageService {
             throw new RuntimeException("Unauthorized to delete this file");
         }
         
-        // Delete metadata (file content is automatically deleted with the record)
+        // Delete metadata, then its content if this was the last file referencing it
+        FileContent content = fileMetadata.getContent();
         fileMetadataRepository.delete(fileMetadata);
+        entityManager.flush(); // file_metadata.content_id references the content
+        releaseContent(fileMetadata.getStorageProvider(), fileMetadata.getContentHash(), content);
     }
     
-    public byte[] getFileContent(UUID fileId, UUID userId) {
+    // Moves one file's content from file_contents to the configured BlobStore (BlobMigrationService);
+    // false if there was nothing to move
+    @Transactional
+    public boolean migrateToBlobStore(UUID fileId) throws IOException {
+        if (isDatabaseStorage()) {
+            return false;
+        }
+        FileMetadata fileMetadata = fileMetadataRepository.findById(fileId).orElse(null);
+        if (fileMetadata == null || fileMetadata.getContent() == null
+                || !DATABASE_PROVIDER.equals(fileMetadata.getStorageProvider())) {
+            return false;
+        }
+        
+        FileContent content = fileMetadata.getContent();
+        String contentHash = fileMetadata.getContentHash();
+        BlobStore blobStore = blobStore(storageProvider);
+        fileBlobService.acquire(blobStore.provider(), contentHash, fileMetadata.getFileSize());
+        blobStore.put(new ByteArrayInputStream(content.getContent()));
+        fileBlobService.purgeAfterRollback(blobStore, contentHash, fileMetadata.getFileSize());
+        fileMetadata.setStorageProvider(blobStore.provider());
+        fileMetadata.setFilePath(blobLocation(blobStore, contentHash));
+        fileMetadata.setContent(null);
+        fileMetadataRepository.saveAndFlush(fileMetadata);
+        // Other files sharing the content keep it in the database until they are moved too
+        releaseContent(DATABASE_PROVIDER, contentHash, content);
+        return true;
+    }
+    
+    public boolean isDatabaseStorage() {
+        return DATABASE_PROVIDER.equalsIgnoreCase(storageProvider);
+    }
+    
+    // Metadata and a range writer for the content; blobs are streamed from their store,
+    // DATABASE content in chunks of file_contents, so neither is loaded whole
+    @Transactional(readOnly = true)
+    public FileDownload getFileDownload(UUID fileId, UUID userId) {
         // Fetch file with profile to avoid lazy loading issues
         FileMetadata fileMetadata = fileMetadataRepository.findByIdWithProfile(fileId)
             .orElseThrow(() -> new RuntimeException("File not found"));
@@ -158,11 +241,21 @@ public class FileStorageService {
             throw new RuntimeException("Unauthorized to access this file");
         }
         
-        if (fileMetadata.getFileContent() == null) {
+        FileDownload.RangeWriter content;
+        if (DATABASE_PROVIDER.equals(fileMetadata.getStorageProvider()) && fileMetadata.getContent() != null) {
+            // Only the id of the lazy content is read here
+            UUID contentId = fileMetadata.getContent().getId();
+            content = (out, position, count) -> copyDatabaseContent(contentId, position, count, out);
+        } else if (!DATABASE_PROVIDER.equals(fileMetadata.getStorageProvider()) && fileMetadata.getContentHash() != null) {
+            BlobStore blobStore = blobStore(fileMetadata.getStorageProvider());
+            String contentHash = fileMetadata.getContentHash();
+            content = (out, position, count) -> blobStore.copyRange(contentHash, position, count, out);
+        } else {
             throw new RuntimeException("File content not found");
         }
         
-        return fileMetadata.getFileContent();
+        return new FileDownload(fileMetadata.getFileName(), fileMetadata.getMimeType(), fileMetadata.getFileSize(),
+            fileMetadata.getContentHash(), fileMetadata.getUploadedAt(), content);
     }
     
     public FileMetadata getFileMetadata(UUID fileId) {
@@ -206,6 +299,49 @@ public class FileStorageService {
         fileMetadataRepository.save(fileMetadata);
     }
     
+    private void copyDatabaseContent(UUID contentId, long position, long count, OutputStream out) throws IOException {
+        long end = position + count;
+        for (long offset = position; offset < end; offset += DATABASE_CHUNK_SIZE) {
+            int length = (int) Math.min(DATABASE_CHUNK_SIZE, end - offset);
+            byte[] chunk = fileContentRepository.findChunk(contentId, (int) offset + 1, length);
+            if (chunk == null || chunk.length == 0) {
+                // Deleted, or moved to the blob store, since the download started
+                throw new IOException("File content not found");
+            }
+            out.write(chunk);
+        }
+    }
+    
+    private BlobStore blobStore(String provider) {
+        return blobStores.stream()
+            .filter(store -> store.provider().equalsIgnoreCase(provider))
+            .findFirst()
+            .orElseThrow(() -> new RuntimeException("Unknown storage provider: " + provider));
+    }
+    
+    private static String blobLocation(BlobStore blobStore, String contentHash) {
+        return blobStore.provider().toLowerCase(Locale.ROOT) + "://" + contentHash;
+    }
+    
+    // Drops a file's reference to its content; the payload is deleted with the last reference.
+    // DATABASE content goes in this transaction, blobs after it commits (FileBlobService.purgeAfterCommit)
+    private void releaseContent(String provider, String contentHash, FileContent content) {
+        if (contentHash == null) {
+            return; // Stored before content hashes were kept; nothing to share or release
+        }
+        if (!fileBlobService.release(provider, contentHash)) {
+            return;
+        }
+        if (DATABASE_PROVIDER.equals(provider)) {
+            if (content != null) {
+                fileContentRepository.deleteByIdWithoutLoading(content.getId());
+            }
+            fileBlobService.forget(provider, contentHash);
+        } else {
+            fileBlobService.purgeAfterCommit(blobStore(provider), contentHash);
+        }
+    }
+    
     private String getFileExtension(String filename) {
         int lastDot = filename.lastIndexOf('.');
         return lastDot > 0 ? filename.substring(lastDot + 1).toLowerCase() : "";
@@ -0,0 +1,218 @@
+package com.gradia.service;
+
+import com.gradia.model.Job;
+import com.gradia.model.ProfileMetadata;
+import com.gradia.repository.JobRepository;
+import com.gradia.repository.ProfileMetadataRepository;
+import com.gradia.service.JobMatchScorer.MatchCandidate;
+import com.gradia.service.JobMatchScorer.MatchJob;
+import com.gradia.service.JobMatchWriter.ScoredMatch;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Keeps job_matches current between full rebuilds (JobMatchingEngine).
+// After a profile or job change commits, only that candidate (against active jobs) or that job
+// (against candidates) is rescored; the other side is found through the per-skill sets of SkillBitmapIndex.
+// Rescoring runs on one background thread fed by a bounded queue, so the committing request never waits for it;
+// changes that don't fit in the queue are left to the next full rebuild.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IncrementalJobMatcher {
+
+    private final JobRepository jobRepository;
+    private final ProfileMetadataRepository profileMetadataRepository;
+    private final JobMatchWriter jobMatchWriter;
+    private final SkillDictionary skillDictionary;
+    private final SkillBitmapIndex skillBitmapIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${job.matching.top-n:50}")
+    private int topN;
+
+    @Value("${job.matching.min-score:20}")
+    private double minScore;
+
+    @Value("${job.matching.incremental.queue-capacity:10000}")
+    private int queueCapacity;
+
+    // The jobs and candidates job_matches was last written from; only read and written on the worker thread,
+    // and only updated once the write has committed
+    private final Map<UUID, MatchJob> jobsById = new HashMap<>();
+    private final Map<UUID, MatchCandidate> candidatesById = new HashMap<>();
+
+    private ThreadPoolExecutor worker;
+
+    @PostConstruct
+    public void start() {
+        worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            r -> new Thread(r, "incremental-job-matching"),
+            (task, executor) -> log.warn("Incremental job matching queue is full, change left to the next full rebuild"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    // Queued like any change, so changes committed while the tables are read are applied after them
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        worker.execute(() -> {
+            try {
+                load();
+            } catch (RuntimeException e) {
+                log.error("Incremental job matcher failed to load jobs and candidates", e);
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onJobChanged(JobChangedEvent event) {
+        Job job = event.getJob();
+        UUID jobId = job.getId();
+        if (event.getChangeType() == JobChangedEvent.ChangeType.DELETED) {
+            worker.execute(() -> jobsById.remove(jobId)); // Rows go with the job (ON DELETE CASCADE)
+            return;
+        }
+        // Snapshot now; the entity must not be read from the worker thread
+        MatchJob matchJob = job.getStatus() == Job.JobStatus.ACTIVE ? new MatchJob(job, skillDictionary) : null;
+        worker.execute(() -> rematchJob(jobId, matchJob));
+    }
+
+    @TransactionalEventListener
+    public void onProfileChanged(ProfileChangedEvent event) {
+        MatchCandidate candidate = MatchCandidate.from(event.getMetadata(), event.getProfile(), skillDictionary);
+        worker.execute(() -> rematchCandidate(candidate));
+    }
+
+    private void load() {
+        jobsById.clear();
+        candidatesById.clear();
+
+        transactionTemplate.executeWithoutResult(tx -> jobRepository.findByStatusOrderByPostedDateDesc(Job.JobStatus.ACTIVE)
+            .forEach(job -> jobsById.put(job.getId(), new MatchJob(job, skillDictionary))));
+
+        // Candidates are read a chunk at a time by keyset on the metadata id (as in JobMatchingEngine), each chunk
+        // in its own transaction, so the persistence context never holds more than one chunk of entities
+        UUID afterId = JobMatchingEngine.FIRST_ID;
+        while (afterId != null) {
+            UUID from = afterId;
+            afterId = transactionTemplate.execute(tx -> {
+                List<ProfileMetadata> page = profileMetadataRepository.findCandidatesWithProfileAfter(
+                    from, PageRequest.of(0, JobMatchingEngine.CHUNK_SIZE));
+                page.forEach(metadata -> candidatesById.put(metadata.getProfile().getId(),
+                    MatchCandidate.from(metadata, metadata.getProfile(), skillDictionary)));
+                return page.size() < JobMatchingEngine.CHUNK_SIZE ? null : page.get(page.size() - 1).getId();
+            });
+        }
+
+        log.info("Incremental job matcher indexed {} active jobs and {} candidates", jobsById.size(), candidatesById.size());
+    }
+
+    // A null matchJob means the job isn't active, which clears its rows the candidates haven't applied to
+    private void rematchJob(UUID jobId, MatchJob matchJob) {
+        MatchJob matched = jobsById.get(jobId);
+        if (matchJob == null ? matched == null : matched != null && !matchFieldsChanged(matched, matchJob)) {
+            if (matchJob != null) {
+                jobsById.put(jobId, matchJob);
+            }
+            return;
+        }
+
+        List<ScoredMatch> matches = new ArrayList<>();
+        if (matchJob != null) {
+            // Candidates sharing at least one skill, with the number of shared skills
+            Map<UUID, Integer> overlaps = new HashMap<>();
+            for (int skill : matchJob.skills) {
+                skillBitmapIndex.forEachCandidateWithSkill(skill, id -> overlaps.merge(id, 1, Integer::sum));
+            }
+            overlaps.forEach((candidateId, overlap) -> {
+                MatchCandidate candidate = candidatesById.get(candidateId);
+                if (candidate == null) {
+                    return; // Indexed by SkillBitmapIndex before this matcher saw the profile
+                }
+                double score = JobMatchScorer.score(candidate, matchJob, overlap);
+                if (score >= minScore) {
+                    matches.add(new ScoredMatch(candidateId, jobId,
+                        JobMatchScorer.toMatchScore(score), JobMatchScorer.reasons(candidate, matchJob)));
+                }
+            });
+        }
+
+        int written;
+        try {
+            written = transactionTemplate.execute(tx -> jobMatchWriter.writeJobMatches(jobId, matches, topN));
+        } catch (RuntimeException e) {
+            log.warn("Failed to rematch job {}, left to the next change or full rebuild", jobId, e);
+            return;
+        }
+        if (matchJob != null) {
+            jobsById.put(jobId, matchJob);
+        } else {
+            jobsById.remove(jobId);
+        }
+        log.debug("Rematched job {} with {} candidates, {} rows written", jobId, matches.size(), written);
+    }
+
+    private void rematchCandidate(MatchCandidate candidate) {
+        Map<UUID, Integer> overlaps = new HashMap<>();
+        for (int skill : candidate.skills) {
+            skillBitmapIndex.forEachJobWithSkill(skill, id -> overlaps.merge(id, 1, Integer::sum));
+        }
+
+        Map<UUID, Double> scores = new HashMap<>();
+        overlaps.forEach((jobId, overlap) -> {
+            MatchJob job = jobsById.get(jobId);
+            if (job == null) {
+                return;
+            }
+            double score = JobMatchScorer.score(candidate, job, overlap);
+            if (score >= minScore) {
+                scores.put(jobId, score);
+            }
+        });
+        List<ScoredMatch> matches = new ArrayList<>();
+        scores.entrySet().stream()
+            .sorted(Map.Entry.<UUID, Double>comparingByValue().reversed())
+            .limit(topN)
+            .forEach(entry -> {
+                MatchJob job = jobsById.get(entry.getKey());
+                matches.add(new ScoredMatch(candidate.id, job.id,
+                    JobMatchScorer.toMatchScore(entry.getValue()), JobMatchScorer.reasons(candidate, job)));
+            });
+
+        int written;
+        try {
+            written = transactionTemplate.execute(tx -> jobMatchWriter.writeCandidateMatches(candidate.id, matches));
+        } catch (RuntimeException e) {
+            log.warn("Failed to rematch candidate {}, left to the next change or full rebuild", candidate.id, e);
+            return;
+        }
+        candidatesById.put(candidate.id, candidate);
+        log.debug("Rematched candidate {} with {} jobs, {} rows written", candidate.id, matches.size(), written);
+    }
+
+    // Only the fields JobMatchScorer reads (scores and reasons) can change a job's matches
+    private static boolean matchFieldsChanged(MatchJob previous, MatchJob current) {
+        return !Arrays.equals(previous.skills, current.skills)
+            || !Objects.equals(previous.experienceRequired, current.experienceRequired)
+            || !Objects.equals(previous.jobType, current.jobType)
+            || previous.remote != current.remote
+            || Double.compare(previous.salaryCeiling, current.salaryCeiling) != 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.gradia.service;
+
+import com.gradia.model.Job;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+
+// Published by JobService whenever a job is written.
+// Listeners use @TransactionalEventListener so they only see committed changes.
+@Getter
+@AllArgsConstructor
+public class JobChangedEvent {
+
+    private final Job job;
+    private final Job previousJob; // State before the write; null for CREATED, same as job for DELETED
+    private final ChangeType changeType;
+
+    // Detached copy of the searchable fields, taken before a job is modified
+    public static Job snapshot(Job job) {
+        Job copy = new Job();
+        copy.setId(job.getId());
+        copy.setEmployer(job.getEmployer());
+        copy.setJobTitle(job.getJobTitle());
+        copy.setDepartment(job.getDepartment());
+        copy.setDescription(job.getDescription());
+        copy.setRequirements(job.getRequirements());
+        copy.setExperienceRequired(job.getExperienceRequired());
+        copy.setSkills(job.getSkills() != null ? new ArrayList<>(job.getSkills()) : null);
+        copy.setSkillsNormalized(job.getSkillsNormalized() != null ? new ArrayList<>(job.getSkillsNormalized()) : null);
+        copy.setSkillIds(job.getSkillIds() != null ? job.getSkillIds().clone() : null);
+        copy.setJobType(job.getJobType());
+        copy.setLocation(job.getLocation());
+        copy.setSalaryRangeMin(job.getSalaryRangeMin());
+        copy.setSalaryRangeMax(job.getSalaryRangeMax());
+        copy.setCurrency(job.getCurrency());
+        copy.setSalaryMinUsd(job.getSalaryMinUsd());
+        copy.setSalaryMaxUsd(job.getSalaryMaxUsd());
+        copy.setStatus(job.getStatus());
+        copy.setPostedDate(job.getPostedDate());
+        copy.setClosingDate(job.getClosingDate());
+        copy.setCreatedAt(job.getCreatedAt());
+        copy.setUpdatedAt(job.getUpdatedAt());
+        copy.setDuplicateOf(job.getDuplicateOf());
+        return copy;
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        PUBLISHED,
+        UNPUBLISHED,
+        DELETED
+    }
+}
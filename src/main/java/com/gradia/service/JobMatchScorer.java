@@ -0,0 +1,183 @@
+package com.gradia.service;
+
+import com.gradia.model.Job;
+import com.gradia.model.Profile;
+import com.gradia.model.ProfileMetadata;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Candidate-to-job match score (0-100) used to fill job_matches:
+// skills 50 (share of the job's skills the candidate has), experience level 20,
+// work preference 15 and salary 15. Skills are SkillDictionary ids, so overlap is a merge of sorted int arrays
+// and aliases ("js" / "javascript") count as the same skill.
+final class JobMatchScorer {
+
+    static final double SKILLS_WEIGHT = 50;
+    static final double EXPERIENCE_WEIGHT = 20;
+    static final double WORK_PREFERENCE_WEIGHT = 15;
+    static final double SALARY_WEIGHT = 15;
+
+    private JobMatchScorer() {
+    }
+
+    // Score given the number of job skills the candidate has (computed by the caller, usually from an inverted index)
+    static double score(MatchCandidate candidate, MatchJob job, int skillOverlap) {
+        double score = 0;
+        if (job.skills.length > 0) {
+            score += SKILLS_WEIGHT * skillOverlap / job.skills.length;
+        }
+        if (experienceMatches(candidate, job)) {
+            score += EXPERIENCE_WEIGHT;
+        }
+        if (workPreferenceMatches(candidate, job)) {
+            score += WORK_PREFERENCE_WEIGHT;
+        }
+        if (salaryMatches(candidate, job)) {
+            score += SALARY_WEIGHT;
+        }
+        return score;
+    }
+
+    static double score(MatchCandidate candidate, MatchJob job) {
+        return score(candidate, job, overlap(candidate.skills, job.skills));
+    }
+
+    // Human readable reasons, only built for the matches that are kept
+    static String[] reasons(MatchCandidate candidate, MatchJob job) {
+        List<String> reasons = new ArrayList<>();
+        int overlap = overlap(candidate.skills, job.skills);
+        if (overlap > 0) {
+            reasons.add("Matches " + overlap + " of " + job.skills.length + " required skills");
+        }
+        if (experienceMatches(candidate, job)) {
+            reasons.add("Experience level matches (" + job.experienceRequired + ")");
+        }
+        if (workPreferenceMatches(candidate, job)) {
+            reasons.add("Matches work preference (" + job.jobType + ")");
+        }
+        if (salaryMatches(candidate, job)) {
+            reasons.add("Salary range meets expectations");
+        }
+        return reasons.toArray(new String[0]);
+    }
+
+    static BigDecimal toMatchScore(double score) {
+        return BigDecimal.valueOf(Math.min(score, 100)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Size of the intersection of two sorted, duplicate-free arrays
+    static int overlap(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                count++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean experienceMatches(MatchCandidate candidate, MatchJob job) {
+        return candidate.experienceLevel != null && candidate.experienceLevel.equals(job.experienceKey);
+    }
+
+    // workPreference holds remote / hybrid / on-site; jobType is full-time, part-time, contract, internship or remote
+    private static boolean workPreferenceMatches(MatchCandidate candidate, MatchJob job) {
+        if (candidate.workPreferences.isEmpty()) {
+            return false;
+        }
+        if (job.jobTypeKey != null && candidate.workPreferences.contains(job.jobTypeKey)) {
+            return true;
+        }
+        return job.remote && candidate.workPreferences.contains("remote");
+    }
+
+    // The job's top of range (or its only bound) reaches the candidate's minimum expectation (or their only bound)
+    private static boolean salaryMatches(MatchCandidate candidate, MatchJob job) {
+        return !Double.isNaN(candidate.salaryFloor) && !Double.isNaN(job.salaryCeiling)
+            && job.salaryCeiling >= candidate.salaryFloor;
+    }
+
+    private static double toDouble(BigDecimal preferred, BigDecimal fallback) {
+        BigDecimal value = preferred != null ? preferred : fallback;
+        return value != null ? value.doubleValue() : Double.NaN;
+    }
+
+    private static String key(String value) {
+        return JobSearchIndex.normalize(value);
+    }
+
+    static class MatchCandidate {
+        final UUID id;
+        final int[] skills;
+        final String experienceLevel;
+        final Set<String> workPreferences;
+        final double salaryFloor;
+
+        MatchCandidate(UUID id, int[] skills, String experienceLevel, Set<String> workPreferences, double salaryFloor) {
+            this.id = id;
+            this.skills = skills;
+            this.experienceLevel = experienceLevel;
+            this.workPreferences = workPreferences;
+            this.salaryFloor = salaryFloor;
+        }
+
+        static MatchCandidate from(ProfileMetadata metadata, Profile profile, SkillDictionary skillDictionary) {
+            Set<String> workPreferences = new HashSet<>();
+            if (metadata.getWorkPreference() != null) {
+                for (String preference : metadata.getWorkPreference()) {
+                    String normalized = key(preference);
+                    if (normalized != null) {
+                        workPreferences.add(normalized);
+                    }
+                }
+            }
+            return new MatchCandidate(
+                profile.getId(),
+                metadata.getSkillIds() != null
+                    ? metadata.getSkillIds()
+                    : skillDictionary.lookupIds(metadata.getSkills() != null ? Arrays.asList(metadata.getSkills()) : null),
+                key(profile.getExperienceLevel()),
+                workPreferences,
+                toDouble(metadata.getSalaryExpectationMin(), metadata.getSalaryExpectationMax())
+            );
+        }
+    }
+
+    static class MatchJob {
+        final UUID id;
+        final int[] skills;
+        final String experienceRequired;
+        final String experienceKey;
+        final String jobType;
+        final String jobTypeKey;
+        final boolean remote;
+        final double salaryCeiling;
+        final Set<String> titleTokens; // Matched against Profile.preferredRole by CandidateFeedService
+        final LocalDateTime postedDate;
+
+        MatchJob(Job job, SkillDictionary skillDictionary) {
+            this.id = job.getId();
+            this.skills = job.getSkillIds() != null ? job.getSkillIds() : skillDictionary.lookupIds(job.getSkills());
+            this.experienceRequired = job.getExperienceRequired();
+            this.experienceKey = key(job.getExperienceRequired());
+            this.jobType = job.getJobType();
+            this.jobTypeKey = key(job.getJobType());
+            String location = key(job.getLocation());
+            this.remote = "remote".equals(jobTypeKey) || (location != null && location.contains("remote"));
+            this.salaryCeiling = toDouble(job.getSalaryRangeMax(), job.getSalaryRangeMin());
+            this.titleTokens = new HashSet<>(JobSearchIndex.tokenize(job.getJobTitle()));
+            this.postedDate = job.getPostedDate() != null ? job.getPostedDate() : job.getCreatedAt();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.gradia.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+// Batched JDBC writes to job_matches; JPA would issue one statement (and one entity) per row.
+// Rows a candidate already applied to are never removed.
+@Component
+@RequiredArgsConstructor
+public class JobMatchWriter {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO job_matches (candidate_id, job_id, match_score, match_reasons) VALUES (?, ?, ?, ?) " +
+        "ON CONFLICT (candidate_id, job_id) DO UPDATE " +
+        "SET match_score = EXCLUDED.match_score, match_reasons = EXCLUDED.match_reasons";
+
+    // Matches of a candidate that are no longer in its top-N
+    private static final String DELETE_STALE_FOR_CANDIDATE_SQL =
+        "DELETE FROM job_matches WHERE candidate_id = ? AND is_applied = false AND NOT (job_id = ANY(?))";
+
+    // Matches of a job with candidates that no longer qualify
+    private static final String DELETE_STALE_FOR_JOB_SQL =
+        "DELETE FROM job_matches WHERE job_id = ? AND is_applied = false AND NOT (candidate_id = ANY(?))";
+
+    // Keeps only a candidate's best topN rows after new matches were added for it
+    private static final String TRIM_CANDIDATE_SQL =
+        "DELETE FROM job_matches WHERE candidate_id = ? AND is_applied = false AND id NOT IN (" +
+        "SELECT id FROM job_matches WHERE candidate_id = ? ORDER BY match_score DESC LIMIT ?)";
+
+    private static final String SELECT_FOR_JOB_SQL =
+        "SELECT candidate_id, match_score, match_reasons, is_applied FROM job_matches WHERE job_id = ?";
+
+    private static final String SELECT_FOR_CANDIDATE_SQL =
+        "SELECT job_id, match_score, match_reasons, is_applied FROM job_matches WHERE candidate_id = ?";
+
+    // Lowest score kept in each candidate's top-N, for the candidates that already have N rows
+    private static final String TOP_N_THRESHOLD_SQL =
+        "SELECT candidate_id, MIN(match_score) AS threshold FROM (" +
+        "SELECT candidate_id, match_score, ROW_NUMBER() OVER (PARTITION BY candidate_id ORDER BY match_score DESC) AS match_rank " +
+        "FROM job_matches WHERE candidate_id = ANY(?)) ranked " +
+        "WHERE match_rank <= ? GROUP BY candidate_id HAVING COUNT(*) >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsert(List<ScoredMatch> matches) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, matches, BATCH_SIZE, (ps, match) -> {
+            ps.setObject(1, match.getCandidateId());
+            ps.setObject(2, match.getJobId());
+            ps.setBigDecimal(3, match.getScore());
+            ps.setArray(4, ps.getConnection().createArrayOf("text", match.getReasons()));
+        });
+    }
+
+    // Replaces the stored matches of each candidate with its new top-N
+    public void replaceCandidateMatches(Map<UUID, List<ScoredMatch>> matchesByCandidate) {
+        List<Map.Entry<UUID, List<ScoredMatch>>> entries = new ArrayList<>(matchesByCandidate.entrySet());
+        jdbcTemplate.batchUpdate(DELETE_STALE_FOR_CANDIDATE_SQL, entries, BATCH_SIZE, (ps, entry) -> {
+            Object[] keptJobIds = entry.getValue().stream().map(ScoredMatch::getJobId).toArray();
+            ps.setObject(1, entry.getKey());
+            ps.setArray(2, ps.getConnection().createArrayOf("uuid", keptJobIds));
+        });
+
+        List<ScoredMatch> matches = new ArrayList<>();
+        matchesByCandidate.values().forEach(matches::addAll);
+        upsert(matches);
+    }
+
+    // Writes one job's new matches, touching only the candidates whose top-N changes; returns the rows written.
+    // Unchanged rows are skipped, and the job only enters a candidate's top-N if it beats the Nth best stored score.
+    public int writeJobMatches(UUID jobId, List<ScoredMatch> matches, int topN) {
+        Map<UUID, StoredMatch> stored = new HashMap<>();
+        jdbcTemplate.query(SELECT_FOR_JOB_SQL, rs -> {
+            stored.put(rs.getObject("candidate_id", UUID.class), storedMatch(rs));
+        }, jobId);
+
+        Set<UUID> keptCandidateIds = new HashSet<>();
+        List<ScoredMatch> changed = new ArrayList<>();
+        List<ScoredMatch> entering = new ArrayList<>();
+        for (ScoredMatch match : matches) {
+            keptCandidateIds.add(match.getCandidateId());
+            StoredMatch current = stored.get(match.getCandidateId());
+            if (current == null) {
+                entering.add(match);
+            } else if (!current.sameAs(match)) {
+                changed.add(match);
+            }
+        }
+
+        int written = 0;
+        boolean stale = stored.entrySet().stream()
+            .anyMatch(entry -> !entry.getValue().applied && !keptCandidateIds.contains(entry.getKey()));
+        if (stale) {
+            written += jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(DELETE_STALE_FOR_JOB_SQL);
+                ps.setObject(1, jobId);
+                ps.setArray(2, connection.createArrayOf("uuid", keptCandidateIds.toArray()));
+                return ps;
+            });
+        }
+
+        // Nth best score of each candidate the job is new to; candidates with fewer than N rows take any match
+        Map<UUID, BigDecimal> thresholds = new HashMap<>();
+        if (!entering.isEmpty()) {
+            Object[] candidateIds = entering.stream().map(ScoredMatch::getCandidateId).toArray();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(TOP_N_THRESHOLD_SQL);
+                ps.setArray(1, connection.createArrayOf("uuid", candidateIds));
+                ps.setInt(2, topN);
+                ps.setInt(3, topN);
+                return ps;
+            }, rs -> {
+                thresholds.put(rs.getObject("candidate_id", UUID.class), rs.getBigDecimal("threshold"));
+            });
+        }
+        List<ScoredMatch> trimmed = new ArrayList<>();
+        for (ScoredMatch match : entering) {
+            BigDecimal threshold = thresholds.get(match.getCandidateId());
+            if (threshold == null) {
+                changed.add(match);
+            } else if (match.getScore().compareTo(threshold) > 0) {
+                changed.add(match);
+                trimmed.add(match);
+            }
+        }
+
+        upsert(changed);
+        jdbcTemplate.batchUpdate(TRIM_CANDIDATE_SQL, trimmed, BATCH_SIZE, (ps, match) -> {
+            ps.setObject(1, match.getCandidateId());
+            ps.setObject(2, match.getCandidateId());
+            ps.setInt(3, topN);
+        });
+        return written + changed.size();
+    }
+
+    // Writes one candidate's new top-N, touching only the rows that differ from what is stored; returns the rows written
+    public int writeCandidateMatches(UUID candidateId, List<ScoredMatch> matches) {
+        Map<UUID, StoredMatch> stored = new HashMap<>();
+        jdbcTemplate.query(SELECT_FOR_CANDIDATE_SQL, rs -> {
+            stored.put(rs.getObject("job_id", UUID.class), storedMatch(rs));
+        }, candidateId);
+
+        Set<UUID> keptJobIds = new HashSet<>();
+        List<ScoredMatch> changed = new ArrayList<>();
+        for (ScoredMatch match : matches) {
+            keptJobIds.add(match.getJobId());
+            StoredMatch current = stored.get(match.getJobId());
+            if (current == null || !current.sameAs(match)) {
+                changed.add(match);
+            }
+        }
+
+        int written = 0;
+        boolean stale = stored.entrySet().stream()
+            .anyMatch(entry -> !entry.getValue().applied && !keptJobIds.contains(entry.getKey()));
+        if (stale) {
+            written += jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(DELETE_STALE_FOR_CANDIDATE_SQL);
+                ps.setObject(1, candidateId);
+                ps.setArray(2, connection.createArrayOf("uuid", keptJobIds.toArray()));
+                return ps;
+            });
+        }
+        upsert(changed);
+        return written + changed.size();
+    }
+
+    private static StoredMatch storedMatch(ResultSet rs) throws SQLException {
+        Array reasons = rs.getArray("match_reasons");
+        return new StoredMatch(
+            rs.getBigDecimal("match_score"),
+            reasons != null ? (String[]) reasons.getArray() : new String[0],
+            rs.getBoolean("is_applied")
+        );
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ScoredMatch {
+        private final UUID candidateId;
+        private final UUID jobId;
+        private final BigDecimal score;
+        private final String[] reasons;
+    }
+
+    private static class StoredMatch {
+        private final BigDecimal score;
+        private final String[] reasons;
+        private final boolean applied;
+
+        StoredMatch(BigDecimal score, String[] reasons, boolean applied) {
+            this.score = score;
+            this.reasons = reasons;
+            this.applied = applied;
+        }
+
+        boolean sameAs(ScoredMatch match) {
+            return score.compareTo(match.getScore()) == 0 && Arrays.equals(reasons, match.getReasons());
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.gradia.service;
+
+import com.gradia.model.Job;
+import com.gradia.model.ProfileMetadata;
+import com.gradia.repository.JobRepository;
+import com.gradia.repository.ProfileMetadataRepository;
+import com.gradia.service.JobMatchScorer.MatchCandidate;
+import com.gradia.service.JobMatchScorer.MatchJob;
+import com.gradia.service.JobMatchWriter.ScoredMatch;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Full rebuild of job_matches: every candidate against every ACTIVE job, keeping the top-N per candidate.
+// Only jobs sharing at least one skill with a candidate are scored; they are found through a skill id -> job
+// ordinal inverted index, so the work is proportional to skill overlaps rather than candidates x jobs.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobMatchingEngine {
+
+    // Candidates read, scored (in parallel) and written per chunk, which bounds the candidates and results held in memory
+    static final int CHUNK_SIZE = 2000;
+
+    // Keyset start: no metadata id sorts before the nil UUID
+    static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final JobRepository jobRepository;
+    private final ProfileMetadataRepository profileMetadataRepository;
+    private final JobMatchWriter jobMatchWriter;
+    private final SkillDictionary skillDictionary;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${job.matching.top-n:50}")
+    private int topN;
+
+    @Value("${job.matching.min-score:20}")
+    private double minScore;
+
+    @Value("${job.matching.parallelism:0}")
+    private int parallelism; // 0 = number of available processors
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> new Thread(r, "job-matching-rebuild"));
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    // Starts a rebuild in the background; false if one is already running
+    public boolean startRebuild() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuild();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    @Scheduled(cron = "${job.matching.cron:0 0 3 * * *}")
+    public void scheduledRebuild() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Skipping scheduled job matching rebuild, one is already running");
+            return;
+        }
+        try {
+            rebuild();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>(lastRun);
+        status.put("running", running.get());
+        return status;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            MatchJob[] jobs = jobRepository.findByStatusOrderByPostedDateDesc(Job.JobStatus.ACTIVE).stream()
+                .map(job -> new MatchJob(job, skillDictionary))
+                .toArray(MatchJob[]::new);
+            int[][] jobsBySkill = invert(jobs);
+
+            int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            ThreadLocal<int[]> overlapCounts = ThreadLocal.withInitial(() -> new int[jobs.length]);
+            long candidateCount = 0;
+            long written = 0;
+            try {
+                // Candidates are read a chunk at a time by keyset on the metadata id, so only one chunk is in memory
+                UUID afterId = FIRST_ID;
+                while (true) {
+                    List<ProfileMetadata> page = profileMetadataRepository.findCandidatesWithProfileAfter(
+                        afterId, PageRequest.of(0, CHUNK_SIZE));
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    afterId = page.get(page.size() - 1).getId();
+
+                    MatchCandidate[] candidates = page.stream()
+                        .map(metadata -> MatchCandidate.from(metadata, metadata.getProfile(), skillDictionary))
+                        .toArray(MatchCandidate[]::new);
+                    Map<UUID, List<ScoredMatch>> chunk = pool.submit(() -> Arrays.stream(candidates).parallel()
+                            .collect(HashMap<UUID, List<ScoredMatch>>::new,
+                                (map, candidate) -> map.put(candidate.id,
+                                    topMatches(candidate, jobs, jobsBySkill, overlapCounts.get())),
+                                Map::putAll))
+                        .get();
+
+                    transactionTemplate.executeWithoutResult(tx -> jobMatchWriter.replaceCandidateMatches(chunk));
+                    candidateCount += candidates.length;
+                    written += chunk.values().stream().mapToLong(List::size).sum();
+                    if (page.size() < CHUNK_SIZE) {
+                        break;
+                    }
+                }
+            } finally {
+                pool.shutdown();
+            }
+
+            long duration = System.currentTimeMillis() - start;
+            Map<String, Object> run = new LinkedHashMap<>();
+            run.put("finishedAt", LocalDateTime.now());
+            run.put("candidates", candidateCount);
+            run.put("jobs", jobs.length);
+            run.put("matchesWritten", written);
+            run.put("durationMs", duration);
+            lastRun = run;
+            log.info("Job matching rebuilt for {} candidates and {} jobs in {} ms ({} matches)",
+                candidateCount, jobs.length, duration, written);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Job matching rebuild interrupted");
+        } catch (ExecutionException | RuntimeException e) {
+            log.error("Job matching rebuild failed", e);
+            lastRun = Map.of("finishedAt", LocalDateTime.now(), "error", String.valueOf(e.getMessage()));
+        }
+    }
+
+    // skill id -> ordinals of the jobs asking for it (ids above the largest job skill id have no entry)
+    private static int[][] invert(MatchJob[] jobs) {
+        int skillCount = 0;
+        for (MatchJob job : jobs) {
+            if (job.skills.length > 0) {
+                skillCount = Math.max(skillCount, job.skills[job.skills.length - 1] + 1);
+            }
+        }
+        int[] sizes = new int[skillCount];
+        for (MatchJob job : jobs) {
+            for (int skill : job.skills) {
+                sizes[skill]++;
+            }
+        }
+        int[][] jobsBySkill = new int[skillCount][];
+        for (int skill = 0; skill < skillCount; skill++) {
+            jobsBySkill[skill] = new int[sizes[skill]];
+            sizes[skill] = 0;
+        }
+        for (int ordinal = 0; ordinal < jobs.length; ordinal++) {
+            for (int skill : jobs[ordinal].skills) {
+                jobsBySkill[skill][sizes[skill]++] = ordinal;
+            }
+        }
+        return jobsBySkill;
+    }
+
+    // Top-N jobs for one candidate. overlapCounts is a per-thread scratch array indexed by job ordinal,
+    // left all zeros on return so it can be reused without clearing.
+    private List<ScoredMatch> topMatches(MatchCandidate candidate, MatchJob[] jobs, int[][] jobsBySkill, int[] overlapCounts) {
+        int[] touched = new int[Math.min(jobs.length, 1024)];
+        int touchedCount = 0;
+        for (int skill : candidate.skills) {
+            if (skill >= jobsBySkill.length) {
+                break; // Skill ids are sorted; no job asks for this or any later skill
+            }
+            for (int ordinal : jobsBySkill[skill]) {
+                if (overlapCounts[ordinal]++ == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, Math.min(jobs.length, touched.length * 2));
+                    }
+                    touched[touchedCount++] = ordinal;
+                }
+            }
+        }
+
+        // Min-heap on score holding the best topN so far
+        PriorityQueue<double[]> best = new PriorityQueue<>(Comparator.comparingDouble((double[] entry) -> entry[0]));
+        for (int i = 0; i < touchedCount; i++) {
+            int ordinal = touched[i];
+            double score = JobMatchScorer.score(candidate, jobs[ordinal], overlapCounts[ordinal]);
+            overlapCounts[ordinal] = 0;
+            if (score < minScore) {
+                continue;
+            }
+            if (best.size() < topN) {
+                best.add(new double[] {score, ordinal});
+            } else if (score > best.peek()[0]) {
+                best.poll();
+                best.add(new double[] {score, ordinal});
+            }
+        }
+
+        List<ScoredMatch> matches = new ArrayList<>(best.size());
+        for (double[] entry : best) {
+            MatchJob job = jobs[(int) entry[1]];
+            matches.add(new ScoredMatch(candidate.id, job.id,
+                JobMatchScorer.toMatchScore(entry[0]), JobMatchScorer.reasons(candidate, job)));
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,261 @@
+package com.gradia.service;
+
+import com.gradia.dto.JobResponse;
+import com.gradia.dto.JobSearchRequest;
+import com.gradia.dto.JobSearchResponse;
+import com.gradia.model.Job;
+import com.gradia.util.SearchFilters;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Supplier;
+
+// Bounded LRU + TTL cache of /api/jobs results keyed on the canonicalized JobSearchRequest.
+// Entries are invalidated precisely: a job change only evicts searches that the job matched before or after the write.
+@Component
+public class JobSearchCache {
+
+    @Value("${job.search.cache.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${job.search.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    // Access-ordered so the least recently used search is evicted first
+    private final Map<String, CachedSearch> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedSearch> eldest) {
+            if (size() > maxEntries) {
+                evictions++;
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // Bumped on every job change so searches computed before the change are never stored
+    private long generation = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long expirations = 0;
+    private long invalidations = 0;
+
+    public JobSearchResponse get(JobSearchRequest request, Supplier<JobSearchResponse> loader) {
+        String status = JobService.resolveStatus(request);
+        String key = cacheKey(request, status);
+        long startGeneration;
+
+        synchronized (this) {
+            CachedSearch cached = entries.get(key);
+            if (cached != null) {
+                if (cached.expiresAt > System.currentTimeMillis()) {
+                    hits++;
+                    return copy(cached.response);
+                }
+                entries.remove(key);
+                expirations++;
+            }
+            misses++;
+            startGeneration = generation;
+        }
+
+        JobSearchResponse response = loader.get();
+
+        synchronized (this) {
+            if (generation == startGeneration) {
+                entries.put(key, new CachedSearch(request, status, copy(response),
+                    System.currentTimeMillis() + ttlSeconds * 1000));
+            }
+        }
+        return response;
+    }
+
+    // Runs after JobSearchIndex (order 0) so a search repopulating an entry already sees the updated index
+    @Order(1)
+    @TransactionalEventListener
+    public synchronized void onJobChanged(JobChangedEvent event) {
+        generation++;
+        Iterator<CachedSearch> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            CachedSearch search = iterator.next();
+            if (couldMatch(search, event.getPreviousJob()) || couldMatch(search, event.getJob())) {
+                iterator.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> stats() {
+        long requests = hits + misses;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlSeconds);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hits / requests);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        stats.put("invalidations", invalidations);
+        return stats;
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    // Equivalent requests (case, skill order, salary scale, ...) share one entry
+    static String cacheKey(JobSearchRequest request, String status) {
+        List<String> skills = SearchFilters.normalizeSkills(request.getSkills());
+        boolean hasSkills = skills != null && !skills.isEmpty();
+
+        return String.join("|",
+            lower(request.getQuery()),
+            String.valueOf(Boolean.TRUE.equals(request.getFuzzy())),
+            lower(request.getLocation()),
+            Objects.toString(request.getJobType(), ""),
+            Objects.toString(request.getExperienceRequired(), ""),
+            hasSkills ? String.join(",", skills) : "",
+            hasSkills && SearchFilters.matchAllSkills(request) ? "ALL" : "ANY",
+            decimal(request.getMinSalary()),
+            decimal(request.getMaxSalary()),
+            Objects.toString(request.getCurrency(), ""),
+            lower(request.getSalaryCurrency()),
+            status,
+            String.valueOf(request.getPage() != null ? request.getPage() : 0),
+            String.valueOf(request.getSize() != null ? request.getSize() : 20),
+            lower(request.getSortBy()),
+            lower(request.getSortOrder()),
+            Objects.toString(request.getCursor(), "")
+        );
+    }
+
+    // Conservative check: true whenever the job could appear in the search results or, for entries holding facets,
+    // in their counts, which also include jobs failing only one facet's own filter (JobSearchIndex.search).
+    // Text queries are checked by the first three characters of each token so stemming and LIKE matches are covered.
+    private static boolean couldMatch(CachedSearch search, Job job) {
+        if (job == null || job.getStatus() == null || !job.getStatus().name().equals(search.status)) {
+            return false;
+        }
+
+        JobSearchRequest request = search.request;
+        int failedFacets = 0;
+        String location = JobSearchIndex.normalize(request.getLocation());
+        if (location != null && (job.getLocation() == null || !lower(job.getLocation()).contains(location))) {
+            failedFacets++;
+        }
+        if (request.getJobType() != null && !request.getJobType().equals(job.getJobType())) {
+            failedFacets++;
+        }
+        if (request.getExperienceRequired() != null && !request.getExperienceRequired().equals(job.getExperienceRequired())) {
+            failedFacets++;
+        }
+        if (request.getCurrency() != null && !request.getCurrency().equals(job.getCurrency())) {
+            failedFacets++;
+        }
+        int allowedFailures = search.response.getFacets() != null ? 1 : 0;
+        if (failedFacets > allowedFailures) {
+            return false;
+        }
+        boolean normalized = SearchFilters.normalizedSalaryFilter(request);
+        BigDecimal minFilter = normalized ? request.getMinSalaryUsd() : request.getMinSalary();
+        BigDecimal maxFilter = normalized ? request.getMaxSalaryUsd() : request.getMaxSalary();
+        BigDecimal rangeMin = normalized ? job.getSalaryMinUsd() : job.getSalaryRangeMin();
+        BigDecimal rangeMax = normalized ? job.getSalaryMaxUsd() : job.getSalaryRangeMax();
+        if (minFilter != null && (rangeMax == null || rangeMax.compareTo(minFilter) < 0)) {
+            return false;
+        }
+        if (maxFilter != null && (rangeMin == null || rangeMin.compareTo(maxFilter) > 0)) {
+            return false;
+        }
+
+        List<String> skills = SearchFilters.normalizeSkills(request.getSkills());
+        if (skills != null && !skills.isEmpty()) {
+            List<String> jobSkills = SearchFilters.normalizeSkills(job.getSkills());
+            Set<String> jobSkillSet = jobSkills != null ? new HashSet<>(jobSkills) : Collections.emptySet();
+            boolean skillsMatch = SearchFilters.matchAllSkills(request)
+                ? jobSkillSet.containsAll(skills)
+                : skills.stream().anyMatch(jobSkillSet::contains);
+            if (!skillsMatch) {
+                return false;
+            }
+        }
+
+        // Fuzzy queries can match misspelled prefixes, so only the filters above are checked for them
+        List<String> queryTokens = JobSearchIndex.tokenize(request.getQuery());
+        if (!queryTokens.isEmpty() && !Boolean.TRUE.equals(request.getFuzzy())) {
+            String text = searchableText(job);
+            for (String token : queryTokens) {
+                if (!text.contains(token.substring(0, Math.min(3, token.length())))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String searchableText(Job job) {
+        StringBuilder text = new StringBuilder();
+        text.append(job.getJobTitle()).append(' ')
+            .append(job.getDescription()).append(' ')
+            .append(job.getRequirements()).append(' ')
+            .append(job.getLocation()).append(' ');
+        if (job.getEmployer() != null && Hibernate.isInitialized(job.getEmployer())) {
+            text.append(job.getEmployer().getCompanyName()).append(' ');
+        }
+        if (job.getSkills() != null) {
+            job.getSkills().forEach(skill -> text.append(skill).append(' '));
+        }
+        return text.toString().toLowerCase(Locale.ROOT);
+    }
+
+    // The DTOs are mutable, so the cached response is never handed out; every caller gets its own copy
+    private static JobSearchResponse copy(JobSearchResponse response) {
+        JobSearchResponse.JobSearchResponseBuilder copy = response.toBuilder();
+        if (response.getJobs() != null) {
+            List<JobResponse> jobs = new ArrayList<>(response.getJobs().size());
+            for (JobResponse job : response.getJobs()) {
+                jobs.add(job.toBuilder()
+                    .skills(job.getSkills() != null ? new ArrayList<>(job.getSkills()) : null)
+                    .build());
+            }
+            copy.jobs(jobs);
+        }
+        if (response.getFacets() != null) {
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            response.getFacets().forEach((facet, counts) -> facets.put(facet, new LinkedHashMap<>(counts)));
+            copy.facets(facets);
+        }
+        return copy.build();
+    }
+
+    private static String lower(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static String decimal(BigDecimal value) {
+        return value != null ? value.stripTrailingZeros().toPlainString() : "";
+    }
+
+    private static class CachedSearch {
+        private final JobSearchRequest request;
+        private final String status;
+        private final JobSearchResponse response;
+        private final long expiresAt;
+
+        CachedSearch(JobSearchRequest request, String status, JobSearchResponse response, long expiresAt) {
+            this.request = request;
+            this.status = status;
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
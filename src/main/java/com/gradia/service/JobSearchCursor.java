@@ -0,0 +1,42 @@
+package com.gradia.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// Opaque keyset cursor for /api/jobs, keyed on (posted_date, created_at, id)
+// Encodes the sort key of the last job on a page; the next page starts strictly after it.
+@Getter
+@AllArgsConstructor
+public class JobSearchCursor {
+
+    private final LocalDateTime postedDate; // null for jobs that were never published
+    private final LocalDateTime createdAt;
+    private final UUID id;
+
+    public String encode() {
+        String raw = (postedDate != null ? postedDate.toString() : "") + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JobSearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException();
+            }
+            return new JobSearchCursor(
+                parts[0].isEmpty() ? null : LocalDateTime.parse(parts[0]),
+                LocalDateTime.parse(parts[1]),
+                UUID.fromString(parts[2])
+            );
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,538 @@
+package com.gradia.service;
+
+import com.gradia.dto.JobSearchRequest;
+import com.gradia.model.Job;
+import com.gradia.repository.JobRepository;
+import com.gradia.util.SearchFilters;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// In-memory inverted index over ACTIVE jobs.
+// Answers /api/jobs searches without LIKE '%q%' scans; the database is only hit to hydrate a page of ids.
+// Fuzzy searches match title, skill and location tokens through a trigram index, so typos still find jobs.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobSearchIndex {
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+
+    // Minimum trigram similarity for a fuzzy match, same default as pg_trgm's similarity_threshold
+    private static final double FUZZY_THRESHOLD = 0.3;
+
+    // Same order as the native search queries: posted_date DESC NULLS LAST, created_at DESC, id DESC
+    // Ids compare as strings so ties break the same way as PostgreSQL's uuid ordering
+    private static final Comparator<IndexedJob> POSTED_DATE_ORDER = Comparator
+        .comparing((IndexedJob j) -> j.postedDate, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+        .thenComparing(j -> j.createdAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+        .thenComparing(j -> j.id.toString(), Comparator.<String>reverseOrder());
+
+    private final JobRepository jobRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, IndexedJob> jobsById = new HashMap<>();
+    private final NavigableSet<IndexedJob> jobsByPostedDate = new TreeSet<>(POSTED_DATE_ORDER);
+    // token -> ids of jobs containing it (title, description, location, company name, skills)
+    private final NavigableMap<String, Set<UUID>> postings = new TreeMap<>();
+    // Fuzzy mode only looks at title, skill and location tokens: token -> ids, and trigram -> tokens
+    private final Map<String, Set<UUID>> fuzzyPostings = new HashMap<>();
+    private final Map<String, Set<String>> trigramIndex = new HashMap<>();
+
+    // Changes committed while rebuild() reads the database, replayed over what it read (null = removed).
+    // Null while no rebuild is running.
+    private Map<UUID, IndexedJob> pendingChanges;
+
+    private volatile boolean ready = false;
+
+    // Synchronized so overlapping rebuilds (startup, admin) don't share pendingChanges
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Job> activeJobs;
+        try {
+            activeJobs = jobRepository.findByStatusWithEmployer(Job.JobStatus.ACTIVE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            jobsById.clear();
+            jobsByPostedDate.clear();
+            postings.clear();
+            fuzzyPostings.clear();
+            trigramIndex.clear();
+            activeJobs.forEach(job -> add(IndexedJob.from(job)));
+            // A change may also be in what was read; replaying it again is harmless
+            pendingChanges.forEach(this::apply);
+            pendingChanges = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Job search index built with {} active jobs", activeJobs.size());
+    }
+
+    // Runs after the JobService transaction commits so rolled back writes never reach the index
+    // Ordered before JobSearchCache so cache entries are only rebuilt from the updated index
+    @Order(0)
+    @TransactionalEventListener
+    public void onJobChanged(JobChangedEvent event) {
+        Job job = event.getJob();
+        IndexedJob indexed = event.getChangeType() != JobChangedEvent.ChangeType.DELETED
+                && job.getStatus() == Job.JobStatus.ACTIVE
+            ? IndexedJob.from(job)
+            : null;
+
+        lock.writeLock().lock();
+        try {
+            apply(job.getId(), indexed);
+            if (pendingChanges != null) {
+                pendingChanges.put(job.getId(), indexed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public SearchResult search(JobSearchRequest request, int page, int size) {
+        List<String> queryTokens = tokenize(request.getQuery());
+        String location = normalize(request.getLocation());
+        List<String> skills = SearchFilters.normalizeSkills(request.getSkills());
+        boolean matchAllSkills = SearchFilters.matchAllSkills(request);
+
+        lock.readLock().lock();
+        try {
+            Collection<IndexedJob> candidates = Boolean.TRUE.equals(request.getFuzzy())
+                ? fuzzyCandidates(queryTokens)
+                : candidates(queryTokens, null);
+
+            long offset = (long) page * size;
+            long total = 0;
+            List<UUID> pageIds = new ArrayList<>();
+            Map<Facet, Map<String, Long>> facetCounts = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                facetCounts.put(facet, new HashMap<>());
+            }
+
+            // Facets are counted in the same pass: a job counts toward a facet when it passes every
+            // filter except (possibly) that facet's own, so selecting a value doesn't hide its siblings
+            for (IndexedJob job : candidates) {
+                int failed = job.failedFilters(request, location, skills, matchAllSkills);
+                if (failed == 0) {
+                    for (Facet facet : Facet.values()) {
+                        countFacet(facetCounts, facet, job.facetValue(facet));
+                    }
+                    if (total >= offset && pageIds.size() < size) {
+                        pageIds.add(job.id);
+                    }
+                    total++;
+                } else {
+                    for (Facet facet : Facet.values()) {
+                        if (failed == facet.mask) {
+                            countFacet(facetCounts, facet, job.facetValue(facet));
+                        }
+                    }
+                }
+            }
+
+            return new SearchResult(pageIds, total, toFacetResponse(facetCounts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Keyset variant of search: returns up to limit ids strictly after the cursor, without counting totals
+    public List<UUID> searchAfter(JobSearchRequest request, JobSearchCursor cursor, int limit) {
+        List<String> queryTokens = tokenize(request.getQuery());
+        String location = normalize(request.getLocation());
+        List<String> skills = SearchFilters.normalizeSkills(request.getSkills());
+        boolean matchAllSkills = SearchFilters.matchAllSkills(request);
+
+        lock.readLock().lock();
+        try {
+            List<UUID> ids = new ArrayList<>();
+            for (IndexedJob job : candidates(queryTokens, cursor)) {
+                if (ids.size() >= limit) {
+                    break;
+                }
+                if (job.failedFilters(request, location, skills, matchAllSkills) == 0) {
+                    ids.add(job.id);
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Jobs matching the query tokens in posted-date order, optionally starting after a cursor
+    private Collection<IndexedJob> candidates(List<String> queryTokens, JobSearchCursor cursor) {
+        IndexedJob after = cursor != null ? IndexedJob.probe(cursor) : null;
+
+        if (queryTokens.isEmpty()) {
+            return after != null ? jobsByPostedDate.tailSet(after, false) : jobsByPostedDate;
+        }
+
+        return matchAllTokens(queryTokens).stream()
+            .map(jobsById::get)
+            .filter(job -> after == null || POSTED_DATE_ORDER.compare(job, after) > 0)
+            .sorted(POSTED_DATE_ORDER)
+            .toList();
+    }
+
+    // Jobs whose title, skills or location contain a token similar to every query token,
+    // best matches first (sum of each query token's best similarity), then in posted-date order
+    private Collection<IndexedJob> fuzzyCandidates(List<String> queryTokens) {
+        if (queryTokens.isEmpty()) {
+            return jobsByPostedDate;
+        }
+
+        Map<UUID, Double> scores = null;
+        for (String queryToken : queryTokens) {
+            Map<UUID, Double> best = new HashMap<>();
+            similarTokens(queryToken).forEach((token, similarity) ->
+                fuzzyPostings.get(token).forEach(id -> best.merge(id, similarity, Math::max)));
+
+            if (scores == null) {
+                scores = best;
+            } else {
+                scores.keySet().retainAll(best.keySet());
+                scores.replaceAll((id, score) -> score + best.get(id));
+            }
+            if (scores.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        Map<UUID, Double> finalScores = scores;
+        return finalScores.keySet().stream()
+            .map(jobsById::get)
+            .sorted(Comparator.comparingDouble((IndexedJob job) -> finalScores.get(job.id)).reversed()
+                .thenComparing(POSTED_DATE_ORDER))
+            .toList();
+    }
+
+    // Indexed tokens with trigram similarity >= FUZZY_THRESHOLD to the query token.
+    // Only tokens sharing at least one trigram are scored, so the dictionary is never scanned.
+    private Map<String, Double> similarTokens(String queryToken) {
+        Set<String> queryTrigrams = trigrams(queryToken);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<String> tokens = trigramIndex.get(trigram);
+            if (tokens != null) {
+                tokens.forEach(token -> shared.merge(token, 1, Integer::sum));
+            }
+        }
+
+        Map<String, Double> similar = new HashMap<>();
+        shared.forEach((token, common) -> {
+            // Jaccard similarity of the two trigram sets, as pg_trgm's similarity()
+            double similarity = (double) common / (queryTrigrams.size() + trigrams(token).size() - common);
+            if (similarity >= FUZZY_THRESHOLD) {
+                similar.put(token, similarity);
+            }
+        });
+        return similar;
+    }
+
+    private static void countFacet(Map<Facet, Map<String, Long>> facetCounts, Facet facet, String value) {
+        if (value != null) {
+            facetCounts.get(facet).merge(value, 1L, Long::sum);
+        }
+    }
+
+    // facet name -> value -> count, values ordered by count (highest first)
+    private static Map<String, Map<String, Long>> toFacetResponse(Map<Facet, Map<String, Long>> facetCounts) {
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        facetCounts.forEach((facet, counts) -> {
+            Map<String, Long> sorted = new LinkedHashMap<>();
+            counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.<String, Long>comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+            facets.put(facet.name, sorted);
+        });
+        return facets;
+    }
+
+    // Every query token must prefix-match at least one indexed token of the job
+    private Set<UUID> matchAllTokens(List<String> queryTokens) {
+        Set<UUID> result = null;
+        for (String token : queryTokens) {
+            Set<UUID> matches = new HashSet<>();
+            postings.subMap(token, true, token + Character.MAX_VALUE, false)
+                .values()
+                .forEach(matches::addAll);
+
+            if (result == null) {
+                result = matches;
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result != null ? result : Collections.emptySet();
+    }
+
+    // Replaces the job's entry; a null job removes it
+    private void apply(UUID jobId, IndexedJob job) {
+        remove(jobId);
+        if (job != null) {
+            add(job);
+        }
+    }
+
+    private void add(IndexedJob job) {
+        jobsById.put(job.id, job);
+        jobsByPostedDate.add(job);
+        for (String token : job.tokens) {
+            postings.computeIfAbsent(token, t -> new HashSet<>()).add(job.id);
+        }
+        for (String token : job.fuzzyTokens) {
+            fuzzyPostings.computeIfAbsent(token, t -> {
+                trigrams(t).forEach(trigram -> trigramIndex.computeIfAbsent(trigram, g -> new HashSet<>()).add(t));
+                return new HashSet<>();
+            }).add(job.id);
+        }
+    }
+
+    private void remove(UUID jobId) {
+        IndexedJob existing = jobsById.remove(jobId);
+        if (existing == null) {
+            return;
+        }
+        jobsByPostedDate.remove(existing);
+        for (String token : existing.tokens) {
+            Set<UUID> ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(jobId);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        for (String token : existing.fuzzyTokens) {
+            Set<UUID> ids = fuzzyPostings.get(token);
+            if (ids != null) {
+                ids.remove(jobId);
+                if (ids.isEmpty()) {
+                    fuzzyPostings.remove(token);
+                    for (String trigram : trigrams(token)) {
+                        Set<String> tokens = trigramIndex.get(trigram);
+                        tokens.remove(token);
+                        if (tokens.isEmpty()) {
+                            trigramIndex.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // pg_trgm style: the token is padded with two leading spaces and one trailing space
+    static Set<String> trigrams(String token) {
+        String padded = "  " + token + " ";
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final List<UUID> jobIds;
+        private final long totalElements;
+        private final Map<String, Map<String, Long>> facets;
+    }
+
+    // Filter dimensions reported as facets; each has its own bit in failedFilters()
+    private enum Facet {
+        JOB_TYPE("jobType", 1),
+        EXPERIENCE_REQUIRED("experienceRequired", 1 << 1),
+        LOCATION("location", 1 << 2),
+        CURRENCY("currency", 1 << 3);
+
+        private final String name;
+        private final int mask;
+
+        Facet(String name, int mask) {
+            this.name = name;
+            this.mask = mask;
+        }
+    }
+
+    // Bit for filters that are not facets (salary range, skills)
+    private static final int OTHER_FILTER = 1 << 4;
+
+    // Snapshot of the searchable fields of an ACTIVE job
+    private static class IndexedJob {
+        private UUID id;
+        private Set<String> tokens;
+        private Set<String> fuzzyTokens; // Title, skill and location tokens
+        private String location;
+        private String locationLabel; // Location as entered, used for the location facet
+        private String jobType;
+        private String experienceRequired;
+        private Set<String> skills;
+        private BigDecimal salaryRangeMin;
+        private BigDecimal salaryRangeMax;
+        private BigDecimal salaryMinUsd;
+        private BigDecimal salaryMaxUsd;
+        private String currency;
+        private LocalDateTime postedDate;
+        private LocalDateTime createdAt;
+
+        // Sort-key-only instance used to position a cursor within jobsByPostedDate
+        static IndexedJob probe(JobSearchCursor cursor) {
+            IndexedJob probe = new IndexedJob();
+            probe.id = cursor.getId();
+            probe.postedDate = cursor.getPostedDate();
+            probe.createdAt = cursor.getCreatedAt();
+            return probe;
+        }
+
+        static IndexedJob from(Job job) {
+            IndexedJob indexed = new IndexedJob();
+            indexed.id = job.getId();
+            indexed.location = normalize(job.getLocation());
+            indexed.locationLabel = job.getLocation() != null && !job.getLocation().isBlank()
+                ? job.getLocation().trim()
+                : null;
+            indexed.jobType = job.getJobType();
+            indexed.experienceRequired = job.getExperienceRequired();
+            indexed.salaryRangeMin = job.getSalaryRangeMin();
+            indexed.salaryRangeMax = job.getSalaryRangeMax();
+            indexed.salaryMinUsd = job.getSalaryMinUsd();
+            indexed.salaryMaxUsd = job.getSalaryMaxUsd();
+            indexed.currency = job.getCurrency();
+            indexed.postedDate = job.getPostedDate();
+            indexed.createdAt = job.getCreatedAt();
+
+            List<String> normalizedSkills = SearchFilters.normalizeSkills(job.getSkills());
+            indexed.skills = normalizedSkills != null ? new HashSet<>(normalizedSkills) : Collections.emptySet();
+
+            Set<String> fuzzyTokens = new HashSet<>();
+            fuzzyTokens.addAll(tokenize(job.getJobTitle()));
+            fuzzyTokens.addAll(tokenize(job.getLocation()));
+            if (job.getSkills() != null) {
+                job.getSkills().forEach(s -> fuzzyTokens.addAll(tokenize(s)));
+            }
+            indexed.fuzzyTokens = fuzzyTokens;
+
+            Set<String> tokens = new HashSet<>(fuzzyTokens);
+            tokens.addAll(tokenize(job.getDescription()));
+            if (job.getEmployer() != null && Hibernate.isInitialized(job.getEmployer())) {
+                tokens.addAll(tokenize(job.getEmployer().getCompanyName()));
+            }
+            indexed.tokens = tokens;
+            return indexed;
+        }
+
+        // Same filter semantics as JobRepository.searchJobs / searchJobsWithSkills
+        // Returns a bit mask of the filters this job fails (0 = match)
+        int failedFilters(JobSearchRequest request, String locationFilter,
+                          List<String> skillsFilter, boolean matchAllSkills) {
+            int failed = 0;
+            if (locationFilter != null && (location == null || !location.contains(locationFilter))) {
+                failed |= Facet.LOCATION.mask;
+            }
+            if (request.getJobType() != null && !request.getJobType().equals(jobType)) {
+                failed |= Facet.JOB_TYPE.mask;
+            }
+            if (request.getExperienceRequired() != null && !request.getExperienceRequired().equals(experienceRequired)) {
+                failed |= Facet.EXPERIENCE_REQUIRED.mask;
+            }
+            if (request.getCurrency() != null && !request.getCurrency().equals(currency)) {
+                failed |= Facet.CURRENCY.mask;
+            }
+            // With salaryCurrency the bounds and the job's range are both compared in USD
+            boolean normalized = SearchFilters.normalizedSalaryFilter(request);
+            BigDecimal minFilter = normalized ? request.getMinSalaryUsd() : request.getMinSalary();
+            BigDecimal maxFilter = normalized ? request.getMaxSalaryUsd() : request.getMaxSalary();
+            BigDecimal rangeMin = normalized ? salaryMinUsd : salaryRangeMin;
+            BigDecimal rangeMax = normalized ? salaryMaxUsd : salaryRangeMax;
+            if (minFilter != null && (rangeMax == null || rangeMax.compareTo(minFilter) < 0)) {
+                failed |= OTHER_FILTER;
+            }
+            if (maxFilter != null && (rangeMin == null || rangeMin.compareTo(maxFilter) > 0)) {
+                failed |= OTHER_FILTER;
+            }
+            if (skillsFilter != null && !skillsFilter.isEmpty()) {
+                boolean skillsMatch = matchAllSkills
+                    ? skills.containsAll(skillsFilter)
+                    : skillsFilter.stream().anyMatch(skills::contains);
+                if (!skillsMatch) {
+                    failed |= OTHER_FILTER;
+                }
+            }
+            return failed;
+        }
+
+        String facetValue(Facet facet) {
+            return switch (facet) {
+                case JOB_TYPE -> jobType;
+                case EXPERIENCE_REQUIRED -> experienceRequired;
+                case LOCATION -> locationLabel;
+                case CURRENCY -> currency;
+            };
+        }
+    }
+}
@@ -7,18 +7,31 @@ import com.gradia.model.User;
 import com.gradia.repository.EmployerProfileRepository;
 import com.gradia.repository.JobRepository;
 import com.gradia.repository.UserRepository;
+import com.gradia.util.SearchFilters;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +40,15 @@ public class JobService {
     private final JobRepository jobRepository;
     private final UserRepository userRepository;
     private final EmployerProfileRepository employerProfileRepository;
+    private final JobSearchIndex jobSearchIndex;
+    private final JobSearchCache jobSearchCache;
+    private final JobSuggestIndex jobSuggestIndex;
+    private final SimilarJobIndex similarJobIndex;
+    private final NearDuplicateJobDetector nearDuplicateJobDetector;
+    private final ExchangeRateService exchangeRateService;
+    private final SkillDictionary skillDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
     
     @Transactional
     public ApiResponse<JobResponse> createJob(UUID userId, JobCreateRequest request) {
@@ -56,19 +78,29 @@ public class JobService {
         job.setRequirements(request.getRequirements());
         job.setExperienceRequired(request.getExperienceRequired());
         job.setSkills(request.getSkills());
+        job.setSkillsNormalized(SearchFilters.normalizeSkills(request.getSkills()));
+        job.setSkillIds(skillDictionary.toIds(request.getSkills()));
         job.setJobType(request.getJobType());
         job.setLocation(request.getLocation());
         job.setSalaryRangeMin(request.getSalaryRangeMin());
         job.setSalaryRangeMax(request.getSalaryRangeMax());
         job.setCurrency(request.getCurrency() != null ? request.getCurrency() : "USD");
+        normalizeSalary(job);
         job.setStatus(Job.JobStatus.DRAFT);
         job.setClosingDate(request.getClosingDate());
         job.setViewsCount(0);
         job.setApplicationsCount(0);
         
+        // Reposts of the same role are flagged, not rejected
+        job.setDuplicateOf(nearDuplicateJobDetector.findDuplicateOf(null, employerProfile.getId(),
+            job.getJobTitle(), job.getDescription(), job.getRequirements()));
+        
         job = jobRepository.save(job);
+        eventPublisher.publishEvent(new JobChangedEvent(job, null, JobChangedEvent.ChangeType.CREATED));
         
-        return ApiResponse.success(toJobResponse(job), "Job created successfully");
+        return ApiResponse.success(toJobResponse(job), job.getDuplicateOf() != null
+            ? "Job created successfully, but it looks like a near-duplicate of an existing posting"
+            : "Job created successfully");
     }
     
     @Transactional
@@ -90,6 +122,9 @@ public class JobService {
             throw new RuntimeException("Unauthorized to update this job");
         }
         
+        // Keep the state before this write for change listeners
+        Job previousJob = JobChangedEvent.snapshot(job);
+        
         // Update fields (only non-null fields)
         if (request.getJobTitle() != null) {
             job.setJobTitle(request.getJobTitle());
@@ -108,6 +143,8 @@ public class JobService {
         }
         if (request.getSkills() != null) {
             job.setSkills(request.getSkills());
+            job.setSkillsNormalized(SearchFilters.normalizeSkills(request.getSkills()));
+            job.setSkillIds(skillDictionary.toIds(request.getSkills()));
         }
         if (request.getJobType() != null) {
             job.setJobType(request.getJobType());
@@ -124,11 +161,20 @@ public class JobService {
         if (request.getCurrency() != null) {
             job.setCurrency(request.getCurrency());
         }
+        normalizeSalary(job);
         if (request.getClosingDate() != null) {
             job.setClosingDate(request.getClosingDate());
         }
         
+        if (!Objects.equals(previousJob.getJobTitle(), job.getJobTitle())
+                || !Objects.equals(previousJob.getDescription(), job.getDescription())
+                || !Objects.equals(previousJob.getRequirements(), job.getRequirements())) {
+            job.setDuplicateOf(nearDuplicateJobDetector.findDuplicateOf(job.getId(), job.getEmployer().getId(),
+                job.getJobTitle(), job.getDescription(), job.getRequirements()));
+        }
+        
         job = jobRepository.save(job);
+        eventPublisher.publishEvent(new JobChangedEvent(job, previousJob, JobChangedEvent.ChangeType.UPDATED));
         
         return ApiResponse.success(toJobResponse(job), "Job updated successfully");
     }
@@ -152,6 +198,9 @@ public class JobService {
             throw new RuntimeException("Unauthorized to publish this job");
         }
         
+        // Keep the state before this write for change listeners
+        Job previousJob = JobChangedEvent.snapshot(job);
+        
         // Publish job
         job.setStatus(Job.JobStatus.ACTIVE);
         if (job.getPostedDate() == null) {
@@ -159,6 +208,7 @@ public class JobService {
         }
         
         job = jobRepository.save(job);
+        eventPublisher.publishEvent(new JobChangedEvent(job, previousJob, JobChangedEvent.ChangeType.PUBLISHED));
         
         return ApiResponse.success(toJobResponse(job), "Job published successfully");
     }
@@ -182,12 +232,16 @@ public class JobService {
             throw new RuntimeException("Unauthorized to unpublish this job");
         }
         
+        // Keep the state before this write for change listeners
+        Job previousJob = JobChangedEvent.snapshot(job);
+        
         // Unpublish job (set to DRAFT or PAUSED)
         if (job.getStatus() == Job.JobStatus.ACTIVE) {
             job.setStatus(Job.JobStatus.PAUSED);
         }
         
         job = jobRepository.save(job);
+        eventPublisher.publishEvent(new JobChangedEvent(job, previousJob, JobChangedEvent.ChangeType.UNPUBLISHED));
         
         return ApiResponse.success(toJobResponse(job), "Job unpublished successfully");
     }
@@ -205,12 +259,8 @@ public class JobService {
         EmployerProfile employerProfile = employerProfileRepository.findByUserId(userId)
             .orElseThrow(() -> new RuntimeException("Employer profile not found"));
         
-        // Get all jobs for this employer
-        List<Job> jobs = jobRepository.findByEmployerIdOrderByCreatedAtDesc(employerProfile.getId());
-        
-        List<JobResponse> responses = jobs.stream()
-            .map(this::toJobResponse)
-            .collect(Collectors.toList());
+        // Get all jobs for this employer (projected with the employer name in a single query)
+        List<JobResponse> responses = jobRepository.findResponsesByEmployerId(employerProfile.getId());
         
         return ApiResponse.success(responses, "Jobs retrieved successfully");
     }
@@ -222,6 +272,23 @@ public class JobService {
         return ApiResponse.success(toJobResponse(job), "Job retrieved successfully");
     }
     
+    @Transactional(readOnly = true)
+    public ApiResponse<List<JobResponse>> getSimilarJobs(UUID jobId, int limit) {
+        if (limit < 1 || limit > 50) {
+            throw new RuntimeException("Limit must be between 1 and 50");
+        }
+        
+        // Active jobs are already vectorized in the index; others (drafts, closed jobs) are vectorized on the fly
+        List<UUID> similarIds = similarJobIndex.findSimilar(jobId, limit);
+        if (similarIds == null) {
+            Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Job not found"));
+            similarIds = similarJobIndex.findSimilar(job, limit);
+        }
+        
+        return ApiResponse.success(hydrateJobs(similarIds), "Similar jobs retrieved successfully");
+    }
+    
     @Transactional
     public ApiResponse<Object> deleteJob(UUID userId, UUID jobId) {
         // Get user and verify role
@@ -242,11 +309,33 @@ public class JobService {
         }
         
         jobRepository.delete(job);
+        eventPublisher.publishEvent(new JobChangedEvent(job, job, JobChangedEvent.ChangeType.DELETED));
         
         return ApiResponse.success(null, "Job deleted successfully");
     }
     
     public ApiResponse<JobSearchResponse> searchJobs(JobSearchRequest request) {
+        String status = resolveStatus(request);
+        
+        // Bounds given in salaryCurrency are compared in USD against every job's normalized range
+        if (SearchFilters.normalizedSalaryFilter(request)) {
+            if (exchangeRateService.usdRate(request.getSalaryCurrency()) == null) {
+                throw new RuntimeException("Unknown salary currency: " + request.getSalaryCurrency());
+            }
+            request.setMinSalaryUsd(exchangeRateService.toUsd(request.getMinSalary(), request.getSalaryCurrency()));
+            request.setMaxSalaryUsd(exchangeRateService.toUsd(request.getMaxSalary(), request.getSalaryCurrency()));
+        }
+        
+        // Repeated filter combinations are served from the result cache
+        JobSearchResponse searchResponse = jobSearchCache.get(request, () -> request.getCursor() != null
+            ? searchJobsByCursor(request, status)
+            : searchJobsByPage(request, status));
+        
+        return ApiResponse.success(searchResponse, "Jobs retrieved successfully");
+    }
+    
+    // Status as used by the native queries; ALL and unknown values fall back to ACTIVE
+    static String resolveStatus(JobSearchRequest request) {
         // Parse status as String for native query
         String status = null;
         if (request.getStatus() != null && !request.getStatus().equalsIgnoreCase("ALL")) {
@@ -264,6 +353,10 @@ public class JobService {
             status = "ACTIVE";
         }
         
+        return status;
+    }
+    
+    private JobSearchResponse searchJobsByPage(JobSearchRequest request, String status) {
         // For native queries, we handle sorting in the SQL query itself
         // So we create a simple pageable without sort (sort is in SQL)
         Pageable pageable = PageRequest.of(
@@ -271,47 +364,193 @@ public class JobService {
             request.getSize() != null ? request.getSize() : 20
         );
         
-        // Search jobs
-        Page<Job> jobPage;
+        boolean rankByRelevance = "relevance".equalsIgnoreCase(request.getSortBy());
+        String tsQuery = toTsQuery(request.getQuery());
+        String allSkills = skillsFilter(request, true);
+        String anySkills = skillsFilter(request, false);
+        
+        // ACTIVE searches are answered from the in-memory index; the database only hydrates the page
+        // Relevance ordering needs ts_rank_cd, so ranked text searches go to the full-text query instead
+        // Fuzzy searches are always ranked by trigram similarity in the index
+        // (when the index is not ready or status is not ACTIVE they fall back to exact matching below)
+        boolean fuzzy = Boolean.TRUE.equals(request.getFuzzy());
+        if ("ACTIVE".equals(status) && jobSearchIndex.isReady() && (fuzzy || !(rankByRelevance && tsQuery != null))) {
+            JobSearchIndex.SearchResult result = jobSearchIndex.search(
+                request, pageable.getPageNumber(), pageable.getPageSize());
+            Page<JobResponse> jobPage = new PageImpl<>(
+                hydrateJobs(result.getJobIds()), pageable, result.getTotalElements());
+            JobSearchResponse searchResponse = toSearchResponse(jobPage);
+            searchResponse.setFacets(result.getFacets());
+            return searchResponse;
+        }
+        
+        // Search jobs (ids only; the page is read through the projection below)
+        Page<UUID> jobIdPage;
         
-        // If skills filter is provided, search with skills
-        if (request.getSkills() != null && !request.getSkills().isEmpty()) {
-            // For multiple skills, we'll search for jobs that have at least one matching skill
-            // This is a simplified approach - for exact match of all skills, we'd need a more complex query
-            String firstSkill = request.getSkills().get(0);
-            jobPage = jobRepository.searchJobsWithSkill(
+        if ("ACTIVE".equals(status) && tsQuery != null) {
+            // Text search over ACTIVE jobs uses idx_jobs_fulltext instead of LIKE scans
+            jobIdPage = jobRepository.searchActiveJobsFullText(
+                tsQuery,
+                request.getLocation(),
+                request.getJobType(),
+                request.getExperienceRequired(),
+                rawMinSalary(request),
+                rawMaxSalary(request),
+                request.getCurrency(),
+                request.getMinSalaryUsd(),
+                request.getMaxSalaryUsd(),
+                allSkills,
+                anySkills,
+                rankByRelevance,
+                pageable
+            );
+        } else if (allSkills != null || anySkills != null) {
+            // If skills filter is provided, search with skills (skillMatch=ALL requires every skill, ANY at least one)
+            jobIdPage = jobRepository.searchJobsWithSkills(
                 request.getQuery(),
                 request.getLocation(),
                 request.getJobType(),
                 request.getExperienceRequired(),
-                request.getMinSalary(),
-                request.getMaxSalary(),
+                rawMinSalary(request),
+                rawMaxSalary(request),
                 request.getCurrency(),
-                firstSkill,
+                request.getMinSalaryUsd(),
+                request.getMaxSalaryUsd(),
+                allSkills,
+                anySkills,
                 status,
                 pageable
             );
         } else {
-            jobPage = jobRepository.searchJobs(
+            jobIdPage = jobRepository.searchJobs(
                 request.getQuery(),
                 request.getLocation(),
                 request.getJobType(),
                 request.getExperienceRequired(),
-                request.getMinSalary(),
-                request.getMaxSalary(),
+                rawMinSalary(request),
+                rawMaxSalary(request),
                 request.getCurrency(),
+                request.getMinSalaryUsd(),
+                request.getMaxSalaryUsd(),
                 status,
                 pageable
             );
         }
         
-        // Convert to response
-        List<JobResponse> jobResponses = jobPage.getContent().stream()
-            .map(this::toJobResponse)
-            .collect(Collectors.toList());
+        // Native queries don't join the employer; hydrate the page through the projection in one more query
+        List<JobResponse> jobResponses = hydrateJobs(jobIdPage.getContent());
+        return toSearchResponse(new PageImpl<>(jobResponses, jobIdPage.getPageable(), jobIdPage.getTotalElements()));
+    }
+    
+    // Keyset pagination on (posted_date, created_at, id): no OFFSET and no count query
+    // One extra row is fetched to know whether another page exists
+    private JobSearchResponse searchJobsByCursor(JobSearchRequest request, String status) {
+        int size = request.getSize() != null ? request.getSize() : 20;
+        if (size < 1) {
+            throw new RuntimeException("Page size must be at least 1");
+        }
+        
+        if (Boolean.TRUE.equals(request.getFuzzy())) {
+            throw new RuntimeException("Fuzzy search does not support cursor pagination");
+        }
         
-        JobSearchResponse searchResponse = JobSearchResponse.builder()
-            .jobs(jobResponses)
+        JobSearchCursor cursor = request.getCursor().isBlank() ? null : JobSearchCursor.decode(request.getCursor());
+        
+        List<JobResponse> jobs;
+        if ("ACTIVE".equals(status) && jobSearchIndex.isReady()) {
+            jobs = hydrateJobs(jobSearchIndex.searchAfter(request, cursor, size + 1));
+        } else {
+            List<UUID> jobIds = jobRepository.searchJobsAfter(
+                request.getQuery(),
+                request.getLocation(),
+                request.getJobType(),
+                request.getExperienceRequired(),
+                rawMinSalary(request),
+                rawMaxSalary(request),
+                request.getCurrency(),
+                request.getMinSalaryUsd(),
+                request.getMaxSalaryUsd(),
+                skillsFilter(request, true),
+                skillsFilter(request, false),
+                status,
+                cursor == null,
+                cursor != null && cursor.getPostedDate() == null,
+                cursor != null ? cursor.getPostedDate() : null,
+                cursor != null ? cursor.getCreatedAt() : null,
+                cursor != null ? cursor.getId() : null,
+                size + 1
+            );
+            jobs = hydrateJobs(jobIds);
+        }
+        
+        boolean hasNext = jobs.size() > size;
+        String nextCursor = null;
+        if (hasNext) {
+            jobs = jobs.subList(0, size);
+            JobResponse last = jobs.get(size - 1);
+            nextCursor = new JobSearchCursor(last.getPostedDate(), last.getCreatedAt(), last.getId()).encode();
+        }
+        
+        return JobSearchResponse.builder()
+            .jobs(jobs)
+            .pageSize(size)
+            .hasNext(hasNext)
+            .hasPrevious(cursor != null)
+            .nextCursor(nextCursor)
+            .build();
+    }
+    
+    // Bounds compared against the job's own salary_range_min / max (no salaryCurrency given)
+    private static BigDecimal rawMinSalary(JobSearchRequest request) {
+        return SearchFilters.normalizedSalaryFilter(request) ? null : request.getMinSalary();
+    }
+    
+    private static BigDecimal rawMaxSalary(JobSearchRequest request) {
+        return SearchFilters.normalizedSalaryFilter(request) ? null : request.getMaxSalary();
+    }
+    
+    // PostgreSQL array literal of the requested skills for the given match mode, or null if that mode isn't used
+    private String skillsFilter(JobSearchRequest request, boolean matchAll) {
+        if (SearchFilters.matchAllSkills(request) != matchAll) {
+            return null;
+        }
+        
+        return SearchFilters.toArrayLiteral(SearchFilters.normalizeSkills(request.getSkills()));
+    }
+    
+    // Builds a prefix-matching tsquery ("java & spring:*") from free text
+    // Tokens are reduced to letters and digits so user input can never produce tsquery syntax errors
+    static String toTsQuery(String query) {
+        if (query == null || query.isBlank()) {
+            return null;
+        }
+        
+        String tsQuery = Arrays.stream(query.split("[^\\p{L}\\p{N}]+"))
+            .filter(token -> !token.isEmpty())
+            .map(token -> token.toLowerCase() + ":*")
+            .collect(Collectors.joining(" & "));
+        
+        return tsQuery.isEmpty() ? null : tsQuery;
+    }
+    
+    public List<JobResponse> hydrateJobs(List<UUID> jobIds) {
+        if (jobIds.isEmpty()) {
+            return List.of();
+        }
+        
+        // Keep the order chosen by the caller; skip jobs deleted since the ids were read
+        Map<UUID, JobResponse> jobsById = jobRepository.findResponsesByIds(jobIds).stream()
+            .collect(Collectors.toMap(JobResponse::getId, Function.identity()));
+        
+        return jobIds.stream()
+            .map(jobsById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+    
+    private JobSearchResponse toSearchResponse(Page<JobResponse> jobPage) {
+        return JobSearchResponse.builder()
+            .jobs(jobPage.getContent())
             .totalElements(jobPage.getTotalElements())
             .totalPages(jobPage.getTotalPages())
             .currentPage(jobPage.getNumber())
@@ -319,20 +558,43 @@ public class JobService {
             .hasNext(jobPage.hasNext())
             .hasPrevious(jobPage.hasPrevious())
             .build();
+    }
+    
+    public ApiResponse<List<JobSuggestionResponse>> suggest(String prefix, int limit) {
+        if (limit < 1) {
+            throw new RuntimeException("Limit must be at least 1");
+        }
         
-        return ApiResponse.success(searchResponse, "Jobs retrieved successfully");
+        return ApiResponse.success(jobSuggestIndex.suggest(prefix, limit), "Suggestions retrieved successfully");
     }
     
     public ApiResponse<List<JobResponse>> getAllActiveJobs() {
-        List<Job> jobs = jobRepository.findByStatusOrderByPostedDateDesc(Job.JobStatus.ACTIVE);
-        
-        List<JobResponse> responses = jobs.stream()
-            .map(this::toJobResponse)
-            .collect(Collectors.toList());
+        List<JobResponse> responses = jobRepository.findResponsesByStatus(Job.JobStatus.ACTIVE);
         
         return ApiResponse.success(responses, "Active jobs retrieved successfully");
     }
     
+    // Streams every ACTIVE job as newline-delimited JSON while reading through a database cursor
+    // Neither the jobs nor their serialized form are ever held in memory as a whole
+    @Transactional(readOnly = true)
+    public void streamActiveJobs(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(JobResponse.class);
+        
+        try (Stream<JobResponse> jobs = jobRepository.streamResponsesByStatus(Job.JobStatus.ACTIVE)) {
+            Iterator<JobResponse> iterator = jobs.iterator();
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+    
+    private void normalizeSalary(Job job) {
+        job.setSalaryMinUsd(exchangeRateService.toUsd(job.getSalaryRangeMin(), job.getCurrency()));
+        job.setSalaryMaxUsd(exchangeRateService.toUsd(job.getSalaryRangeMax(), job.getCurrency()));
+    }
+    
     private JobResponse toJobResponse(Job job) {
         return JobResponse.builder()
             .id(job.getId())
@@ -356,6 +618,7 @@ public class JobService {
             .applicationsCount(job.getApplicationsCount())
             .createdAt(job.getCreatedAt())
             .updatedAt(job.getUpdatedAt())
+            .duplicateOf(job.getDuplicateOf())
             .build();
     }
 }
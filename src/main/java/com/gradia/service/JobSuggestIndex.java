@@ -0,0 +1,261 @@
+package com.gradia.service;
+
+import com.gradia.dto.JobSuggestionResponse;
+import com.gradia.model.Job;
+import com.gradia.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+// Typeahead over ACTIVE jobs: titles, skills, company names and locations.
+// A trie keyed on every word start of each value; each node caches its top-k values by job count,
+// so a lookup is a walk down the prefix plus (at most) a merge of child top-k lists.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobSuggestIndex {
+
+    public static final int TOP_K = 10;
+
+    private final JobRepository jobRepository;
+
+    private final Node root = new Node();
+    // type + ":" + normalized text -> term
+    private final Map<String, Term> terms = new HashMap<>();
+    // Terms each indexed job contributed, so a change can be undone without the old job state
+    private final Map<UUID, List<Term>> termsByJob = new HashMap<>();
+
+    // Changes committed while rebuild() reads the database, replayed over what it read (null = removed).
+    // Null while no rebuild is running.
+    private Map<UUID, Job> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            pendingChanges = new LinkedHashMap<>();
+        }
+
+        List<Job> activeJobs;
+        try {
+            activeJobs = jobRepository.findByStatusWithEmployer(Job.JobStatus.ACTIVE);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            new ArrayList<>(termsByJob.keySet()).forEach(this::removeJob);
+            activeJobs.forEach(this::addJob);
+            // A change may also be in what was read; replaying it again is harmless
+            pendingChanges.forEach(this::apply);
+            pendingChanges = null;
+        }
+
+        log.info("Job suggest index built with {} terms", terms.size());
+    }
+
+    @TransactionalEventListener
+    public synchronized void onJobChanged(JobChangedEvent event) {
+        Job job = event.getJob();
+        Job indexed = event.getChangeType() != JobChangedEvent.ChangeType.DELETED
+                && job.getStatus() == Job.JobStatus.ACTIVE
+            ? job
+            : null;
+        apply(job.getId(), indexed);
+        if (pendingChanges != null) {
+            pendingChanges.put(job.getId(), indexed);
+        }
+    }
+
+    public synchronized List<JobSuggestionResponse> suggest(String prefix, int limit) {
+        String key = JobSearchIndex.normalize(prefix);
+        if (key == null) {
+            return List.of();
+        }
+
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        return topK(node).stream()
+            .limit(Math.min(limit, TOP_K))
+            .map(term -> new JobSuggestionResponse(term.label, term.type, term.count))
+            .toList();
+    }
+
+    // Replaces the job's terms; a null job only removes them
+    private void apply(UUID jobId, Job job) {
+        removeJob(jobId);
+        if (job != null) {
+            addJob(job);
+        }
+    }
+
+    private void addJob(Job job) {
+        List<Term> contributed = new ArrayList<>();
+        addTerm(contributed, "title", job.getJobTitle());
+        addTerm(contributed, "location", job.getLocation());
+        if (job.getEmployer() != null && Hibernate.isInitialized(job.getEmployer())) {
+            addTerm(contributed, "company", job.getEmployer().getCompanyName());
+        }
+        if (job.getSkills() != null) {
+            job.getSkills().forEach(skill -> addTerm(contributed, "skill", skill));
+        }
+        termsByJob.put(job.getId(), contributed);
+    }
+
+    private void addTerm(List<Term> contributed, String type, String text) {
+        String normalized = JobSearchIndex.normalize(text);
+        if (normalized == null) {
+            return;
+        }
+
+        Term term = terms.get(type + ":" + normalized);
+        if (term == null) {
+            term = new Term(type, text.trim(), normalized);
+            terms.put(type + ":" + normalized, term);
+            for (String key : term.keys) {
+                insert(key, term);
+            }
+        } else if (contributed.contains(term)) {
+            return; // Same skill listed twice on one job
+        }
+
+        term.count++;
+        contributed.add(term);
+        invalidate(term);
+    }
+
+    private void removeJob(UUID jobId) {
+        List<Term> contributed = termsByJob.remove(jobId);
+        if (contributed == null) {
+            return;
+        }
+
+        for (Term term : contributed) {
+            term.count--;
+            if (term.count == 0) {
+                terms.remove(term.type + ":" + term.normalized);
+                for (String key : term.keys) {
+                    remove(key, term);
+                }
+            } else {
+                invalidate(term);
+            }
+        }
+    }
+
+    private void insert(String key, Term term) {
+        Node node = root;
+        node.topK = null;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            node.topK = null;
+        }
+        node.terms.add(term);
+    }
+
+    private void remove(String key, Term term) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        path.push(node);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+            if (node != null) {
+                path.push(node);
+            }
+        }
+        if (node == null) {
+            return;
+        }
+
+        node.terms.remove(term);
+        path.forEach(n -> n.topK = null);
+
+        // Prune nodes left without terms or children, deepest first
+        for (int i = key.length() - 1; i >= 0; i--) {
+            Node child = path.pop();
+            if (!child.terms.isEmpty() || !child.children.isEmpty()) {
+                break;
+            }
+            path.peek().children.remove(key.charAt(i));
+        }
+    }
+
+    // A count change reorders the cached top-k of every node on the term's paths
+    private void invalidate(Term term) {
+        for (String key : term.keys) {
+            Node node = root;
+            node.topK = null;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+                if (node != null) {
+                    node.topK = null;
+                }
+            }
+        }
+    }
+
+    private List<Term> topK(Node node) {
+        if (node.topK != null) {
+            return node.topK;
+        }
+
+        // The same term can be reachable through several word starts, so de-duplicate
+        Set<Term> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        candidates.addAll(node.terms);
+        for (Node child : node.children.values()) {
+            candidates.addAll(topK(child));
+        }
+
+        node.topK = candidates.stream()
+            .sorted(Comparator.comparingInt((Term t) -> t.count).reversed().thenComparing(t -> t.label))
+            .limit(TOP_K)
+            .toList();
+        return node.topK;
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Term> terms = new ArrayList<>(1);
+        private List<Term> topK; // null when stale
+    }
+
+    private static class Term {
+        private final String type;
+        private final String label;
+        private final String normalized;
+        private final List<String> keys;
+        private int count = 0;
+
+        Term(String type, String label, String normalized) {
+            this.type = type;
+            this.label = label;
+            this.normalized = normalized;
+
+            // Index the whole value and every later word start ("senior java developer" -> "java developer", ...)
+            List<String> keys = new ArrayList<>();
+            keys.add(normalized);
+            for (int i = 1; i < normalized.length(); i++) {
+                if (!Character.isLetterOrDigit(normalized.charAt(i - 1)) && Character.isLetterOrDigit(normalized.charAt(i))) {
+                    keys.add(normalized.substring(i));
+                }
+            }
+            this.keys = keys;
+        }
+    }
+}
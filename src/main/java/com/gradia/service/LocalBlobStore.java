@@ -0,0 +1,164 @@
+package com.gradia.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+// Blobs on the local disk under file.storage.local.dir, at <root>/<hash[0..2]>/<hash[2..4]>/<hash>.
+// Content is written to a temp file in the same root, synced, then renamed into place, so a blob path
+// either holds the complete content or does not exist.
+@Slf4j
+@Component
+public class LocalBlobStore implements BlobStore {
+
+    public static final String PROVIDER = "LOCAL";
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+    private final Path tempDir;
+
+    public LocalBlobStore(@Value("${file.storage.local.dir:./uploads/blobs}") String dir) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+        this.tempDir = root.resolve("tmp");
+    }
+
+    @Override
+    public String provider() {
+        return PROVIDER;
+    }
+
+    @Override
+    public String put(InputStream content) throws IOException {
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            Files.copy(new DigestInputStream(content, digest), temp, StandardCopyOption.REPLACE_EXISTING);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+
+            String key = HexFormat.of().formatHex(digest.digest());
+            moveIntoPlace(temp, key);
+            return key;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public BlobWriter openWriter() throws IOException {
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".tmp");
+        return new TempFileWriter(temp, FileChannel.open(temp, StandardOpenOption.WRITE));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    // FileChannel.transferTo leaves the copy to the OS where the target allows it
+    @Override
+    public void copyRange(String key, long position, long count, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long offset = position;
+            long end = position + count;
+            while (offset < end) {
+                long transferred = channel.transferTo(offset, end - offset, target);
+                if (transferred <= 0) {
+                    throw new EOFException("Blob " + key + " is shorter than " + end + " bytes");
+                }
+                offset += transferred;
+            }
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        if (Files.deleteIfExists(resolve(key))) {
+            log.debug("Deleted blob {}", key);
+        }
+    }
+
+    private void moveIntoPlace(Path temp, String key) throws IOException {
+        Path target = resolve(key);
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            // Same key means same content, so losing a race with a concurrent writer is harmless
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private Path resolve(String key) {
+        // Keys come from our own hashes; anything else could name a path outside the root
+        if (key == null || !KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private class TempFileWriter implements BlobWriter {
+
+        private final Path temp;
+        private final FileChannel channel;
+
+        TempFileWriter(Path temp, FileChannel channel) {
+            this.temp = temp;
+            this.channel = channel;
+        }
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            return channel.write(source);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void commit(String key) throws IOException {
+            channel.force(true);
+            channel.close();
+            moveIntoPlace(temp, key);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+            Files.deleteIfExists(temp); // Already moved when committed
+        }
+    }
+}
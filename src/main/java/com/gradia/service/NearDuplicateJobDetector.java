@@ -0,0 +1,247 @@
+package com.gradia.service;
+
+import com.gradia.model.Job;
+import com.gradia.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+// Flags job postings that nearly repeat an earlier posting of the same employer.
+// Title, description and requirements are reduced to word 3-shingles and a 128 value MinHash signature,
+// which is split into 16 bands of 8 rows. Jobs sharing a band bucket (about 0.7 Jaccard and up) are checked
+// by signature agreement, so a lookup is 16 hash probes rather than a comparison against every job.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NearDuplicateJobDetector {
+
+    private static final int BANDS = 16;
+    private static final int ROWS = 8;
+    private static final int SIGNATURE_SIZE = BANDS * ROWS;
+    private static final int SHINGLE_SIZE = 3;
+    // Estimated Jaccard similarity of the shingle sets at which a posting counts as a near-duplicate
+    static final double SIMILARITY_THRESHOLD = 0.8;
+
+    private static final int[] SEEDS = new Random(0x5EED).ints(SIGNATURE_SIZE).toArray();
+
+    private final JobRepository jobRepository;
+
+    private final Map<UUID, Posting> postings = new HashMap<>();
+    // One map per band: employer + band rows -> ids of the postings in that bucket
+    private final List<Map<Long, Set<UUID>>> bands = newBands();
+
+    // Changes committed while rebuild() reads the database, replayed over what it read (null = removed).
+    // Null while no rebuild is running.
+    private Map<UUID, Job> pendingChanges;
+
+    // Closed jobs are left out; reposting a closed role is not a duplicate
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        synchronized (this) {
+            pendingChanges = new LinkedHashMap<>();
+        }
+
+        List<Job> jobs;
+        try {
+            jobs = jobRepository.findByStatusIn(
+                List.of(Job.JobStatus.DRAFT, Job.JobStatus.ACTIVE, Job.JobStatus.PAUSED));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            postings.clear();
+            bands.forEach(Map::clear);
+            jobs.forEach(this::add);
+            // A change may also be in what was read; replaying it again is harmless
+            pendingChanges.forEach(this::apply);
+            pendingChanges = null;
+        }
+
+        log.info("Near-duplicate job index built with {} postings", postings.size());
+    }
+
+    @TransactionalEventListener
+    public synchronized void onJobChanged(JobChangedEvent event) {
+        Job job = event.getJob();
+        Job indexed = event.getChangeType() != JobChangedEvent.ChangeType.DELETED
+                && job.getStatus() != Job.JobStatus.CLOSED
+            ? job
+            : null;
+        apply(job.getId(), indexed);
+        if (pendingChanges != null) {
+            pendingChanges.put(job.getId(), indexed);
+        }
+    }
+
+    private void apply(UUID jobId, Job job) {
+        remove(jobId);
+        if (job != null) {
+            add(job);
+            return;
+        }
+        // The job left the index, so its duplicates are originals now for new postings to point at.
+        // A deleted job's duplicate_of references are also set to null in the database (ON DELETE SET NULL).
+        for (Posting posting : postings.values()) {
+            if (jobId.equals(posting.duplicateOf)) {
+                posting.duplicateOf = null;
+            }
+        }
+    }
+
+    // Id of the original posting the job nearly duplicates, or null; jobId is null for a job not saved yet
+    public synchronized UUID findDuplicateOf(UUID jobId, UUID employerId, String title, String description,
+                                             String requirements) {
+        int[] signature = signature(title, description, requirements);
+        if (signature == null) {
+            return null;
+        }
+
+        Set<UUID> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            candidates.addAll(bands.get(band).getOrDefault(bandKey(employerId, signature, band), Collections.emptySet()));
+        }
+
+        UUID best = null;
+        double bestSimilarity = SIMILARITY_THRESHOLD;
+        for (UUID candidateId : candidates) {
+            Posting candidate = postings.get(candidateId);
+            // Point at the original posting, never at the job itself or at one of its own duplicates.
+            // An original that is not indexed (closed before a rebuild) no longer counts; its duplicate stands in.
+            UUID original = candidate.duplicateOf != null && postings.containsKey(candidate.duplicateOf)
+                ? candidate.duplicateOf
+                : candidateId;
+            if (candidateId.equals(jobId) || original.equals(jobId) || !candidate.employerId.equals(employerId)) {
+                continue;
+            }
+            double similarity = similarity(signature, candidate.signature);
+            if (similarity >= bestSimilarity) {
+                best = original;
+                bestSimilarity = similarity;
+            }
+        }
+        return best;
+    }
+
+    private void add(Job job) {
+        int[] signature = signature(job.getJobTitle(), job.getDescription(), job.getRequirements());
+        if (signature == null) {
+            return;
+        }
+        UUID employerId = job.getEmployer().getId();
+        postings.put(job.getId(), new Posting(employerId, signature, job.getDuplicateOf()));
+        for (int band = 0; band < BANDS; band++) {
+            bands.get(band).computeIfAbsent(bandKey(employerId, signature, band), k -> new HashSet<>()).add(job.getId());
+        }
+    }
+
+    private void remove(UUID jobId) {
+        Posting posting = postings.remove(jobId);
+        if (posting == null) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(posting.employerId, posting.signature, band);
+            Set<UUID> bucket = bands.get(band).get(key);
+            if (bucket != null) {
+                bucket.remove(jobId);
+                if (bucket.isEmpty()) {
+                    bands.get(band).remove(key);
+                }
+            }
+        }
+    }
+
+    // MinHash of the word shingles, or null when there is no text to compare
+    static int[] signature(String title, String description, String requirements) {
+        List<String> tokens = new ArrayList<>();
+        tokens.addAll(JobSearchIndex.tokenize(title));
+        tokens.addAll(JobSearchIndex.tokenize(description));
+        tokens.addAll(JobSearchIndex.tokenize(requirements));
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        Set<Integer> shingles = new HashSet<>();
+        if (tokens.size() < SHINGLE_SIZE) {
+            shingles.add(String.join(" ", tokens).hashCode());
+        } else {
+            for (int i = 0; i + SHINGLE_SIZE <= tokens.size(); i++) {
+                shingles.add(String.join(" ", tokens.subList(i, i + SHINGLE_SIZE)).hashCode());
+            }
+        }
+
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int shingle : shingles) {
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int hash = mix(shingle ^ SEEDS[i]);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // Share of equal MinHash values, an estimate of the Jaccard similarity of the shingle sets
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+
+    // Postings of different employers never share a bucket
+    private static long bandKey(UUID employerId, int[] signature, int band) {
+        long key = employerId.getMostSignificantBits() * 31 + employerId.getLeastSignificantBits();
+        key = key * 31 + band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[row];
+        }
+        return key;
+    }
+
+    private static List<Map<Long, Set<UUID>>> newBands() {
+        List<Map<Long, Set<UUID>>> result = new ArrayList<>(BANDS);
+        for (int i = 0; i < BANDS; i++) {
+            result.add(new HashMap<>());
+        }
+        return result;
+    }
+
+    // murmur3 finalizer
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static class Posting {
+        private final UUID employerId;
+        private final int[] signature;
+        private UUID duplicateOf;
+
+        Posting(UUID employerId, int[] signature, UUID duplicateOf) {
+            this.employerId = employerId;
+            this.signature = signature;
+            this.duplicateOf = duplicateOf;
+        }
+    }
+}
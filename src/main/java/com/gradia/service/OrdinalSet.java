@@ -0,0 +1,122 @@
+package com.gradia.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+
+// Set of dense int ordinals stored as a sorted int[] while sparse and as a BitSet once dense
+// (the array/bitmap container split of Roaring bitmaps, on a single container).
+// Most skills are held by few jobs or candidates, so most sets stay small arrays.
+final class OrdinalSet {
+
+    private int[] array = new int[4];
+    private int size = 0;
+    private BitSet bits; // non-null once converted to a bitmap
+
+    void add(int ordinal) {
+        if (bits != null) {
+            bits.set(ordinal);
+            return;
+        }
+        int index = Arrays.binarySearch(array, 0, size, ordinal);
+        if (index >= 0) {
+            return;
+        }
+        index = -index - 1;
+        if (size == array.length) {
+            array = Arrays.copyOf(array, size * 2);
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        array[index] = ordinal;
+        size++;
+
+        // An int costs 32 bits, a bitmap one bit per ordinal up to the largest one
+        if ((long) size * 32 > array[size - 1] + 1L && size > 64) {
+            bits = new BitSet(array[size - 1] + 1);
+            for (int i = 0; i < size; i++) {
+                bits.set(array[i]);
+            }
+            array = null;
+            size = 0;
+        }
+    }
+
+    void remove(int ordinal) {
+        if (bits != null) {
+            bits.clear(ordinal);
+            return;
+        }
+        int index = Arrays.binarySearch(array, 0, size, ordinal);
+        if (index >= 0) {
+            System.arraycopy(array, index + 1, array, index, size - index - 1);
+            size--;
+        }
+    }
+
+    boolean isEmpty() {
+        return bits != null ? bits.isEmpty() : size == 0;
+    }
+
+    int cardinality() {
+        return bits != null ? bits.cardinality() : size;
+    }
+
+    void forEach(IntConsumer action) {
+        if (bits != null) {
+            bits.stream().forEach(action);
+        } else {
+            for (int i = 0; i < size; i++) {
+                action.accept(array[i]);
+            }
+        }
+    }
+
+    BitSet toBitSet() {
+        if (bits != null) {
+            return (BitSet) bits.clone();
+        }
+        BitSet result = new BitSet(size > 0 ? array[size - 1] + 1 : 0);
+        for (int i = 0; i < size; i++) {
+            result.set(array[i]);
+        }
+        return result;
+    }
+
+    // target &= this
+    void andInto(BitSet target) {
+        if (bits != null) {
+            target.and(bits);
+            return;
+        }
+        BitSet kept = new BitSet();
+        for (int i = 0; i < size; i++) {
+            if (target.get(array[i])) {
+                kept.set(array[i]);
+            }
+        }
+        target.clear();
+        target.or(kept);
+    }
+
+    // target |= this
+    void orInto(BitSet target) {
+        if (bits != null) {
+            target.or(bits);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            target.set(array[i]);
+        }
+    }
+
+    // target &= ~this
+    void andNotInto(BitSet target) {
+        if (bits != null) {
+            target.andNot(bits);
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            target.clear(array[i]);
+        }
+    }
+}
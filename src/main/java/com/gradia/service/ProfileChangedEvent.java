@@ -0,0 +1,16 @@
+package com.gradia.service;
+
+import com.gradia.model.Profile;
+import com.gradia.model.ProfileMetadata;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published by CandidateProfileService when a candidate profile or its metadata is saved.
+// Listeners use @TransactionalEventListener so they only see committed changes.
+@Getter
+@AllArgsConstructor
+public class ProfileChangedEvent {
+
+    private final Profile profile;
+    private final ProfileMetadata metadata;
+}
@@ -85,9 +85,8 @@ public class ProfileCompletenessService {
         boolean hasProfilePicture = isFieldFilled(profile.getProfilePicture());
         if (!hasProfilePicture) {
             // Check if there's a profile picture file uploaded
-            List<FileMetadata> pictures = fileMetadataRepository
-                .findByProfileIdAndFileType(profile.getId(), FileMetadata.FileType.PROFILE_PICTURE);
-            hasProfilePicture = !pictures.isEmpty();
+            hasProfilePicture = fileMetadataRepository
+                .existsByProfileIdAndFileType(profile.getId(), FileMetadata.FileType.PROFILE_PICTURE);
         }
         
         if (hasProfilePicture) {
@@ -146,9 +145,9 @@ public class ProfileCompletenessService {
         }
         
         // Resume upload (30 points)
-        List<FileMetadata> resumes = fileMetadataRepository
-            .findByProfileIdAndFileType(profile.getId(), FileMetadata.FileType.RESUME);
-        if (!resumes.isEmpty()) {
+        boolean hasResume = fileMetadataRepository
+            .existsByProfileIdAndFileType(profile.getId(), FileMetadata.FileType.RESUME);
+        if (hasResume) {
             completedFields.add("resume");
             score += 30;
         } else {
@@ -0,0 +1,368 @@
+package com.gradia.service;
+
+import com.gradia.model.Job;
+import com.gradia.model.SavedSearch;
+import com.gradia.model.SavedSearchCriteria;
+import com.gradia.model.SavedSearchMatch;
+import com.gradia.repository.JobRepository;
+import com.gradia.repository.SavedSearchMatchRepository;
+import com.gradia.repository.SavedSearchRepository;
+import com.gradia.util.SearchFilters;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Reverse search for job alerts: active saved searches are compiled once and kept in memory,
+// and each newly published job is matched against them instead of re-running every saved search.
+// Each search is filed under a single bucket (skill, job type, location word or minimum salary),
+// so a job only looks at the buckets its own values select and checks those searches in full.
+@Slf4j
+@Component
+public class SavedSearchPercolator {
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final SavedSearchMatchRepository savedSearchMatchRepository;
+    private final JobRepository jobRepository;
+    private final TransactionTemplate requiresNew;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, CompiledSearch> searchesById = new HashMap<>();
+    private final Map<String, Set<CompiledSearch>> bySkill = new HashMap<>();
+    private final Map<String, Set<CompiledSearch>> byJobType = new HashMap<>();
+    // First word of the location filter; jobs look up every substring of their location words
+    private final Map<String, Set<CompiledSearch>> byLocationWord = new HashMap<>();
+    // Minimum salary; a job matches every search whose minimum is at most its salary_range_max
+    private final NavigableMap<BigDecimal, Set<CompiledSearch>> byMinSalary = new TreeMap<>();
+    private final Set<CompiledSearch> unanchored = new HashSet<>();
+
+    // Saved search changes made while rebuild() reads the database, replayed over what it read (null = removed).
+    // Null while no rebuild is running.
+    private Map<UUID, CompiledSearch> pendingChanges;
+
+    public SavedSearchPercolator(SavedSearchRepository savedSearchRepository,
+                                 SavedSearchMatchRepository savedSearchMatchRepository,
+                                 JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.savedSearchMatchRepository = savedSearchMatchRepository;
+        this.jobRepository = jobRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<SavedSearch> activeSearches;
+        try {
+            activeSearches = savedSearchRepository.findByIsActiveTrue();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            searchesById.clear();
+            bySkill.clear();
+            byJobType.clear();
+            byLocationWord.clear();
+            byMinSalary.clear();
+            unanchored.clear();
+            activeSearches.forEach(search -> add(CompiledSearch.compile(search)));
+            // A change may also be in what was read; replaying it again is harmless
+            pendingChanges.forEach(this::apply);
+            pendingChanges = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Saved search percolator built with {} active searches", activeSearches.size());
+    }
+
+    public void register(SavedSearch search) {
+        update(search.getId(), Boolean.TRUE.equals(search.getIsActive()) ? CompiledSearch.compile(search) : null);
+    }
+
+    public void unregister(UUID savedSearchId) {
+        update(savedSearchId, null);
+    }
+
+    private void update(UUID savedSearchId, CompiledSearch compiled) {
+        lock.writeLock().lock();
+        try {
+            apply(savedSearchId, compiled);
+            if (pendingChanges != null) {
+                pendingChanges.put(savedSearchId, compiled);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replaces the saved search; null removes it
+    private void apply(UUID savedSearchId, CompiledSearch compiled) {
+        remove(savedSearchId);
+        if (compiled != null) {
+            add(compiled);
+        }
+    }
+
+    // Records matches for jobs that just became ACTIVE (published, or created/updated straight to ACTIVE)
+    // Runs after the job's transaction commits, in its own transaction. A failure (e.g. a saved search deleted
+    // meanwhile) is logged: the job is already committed, and the other listeners must still see the change
+    @TransactionalEventListener
+    public void onJobChanged(JobChangedEvent event) {
+        try {
+            requiresNew.executeWithoutResult(tx -> recordMatches(event));
+        } catch (RuntimeException e) {
+            log.warn("Failed to record saved search matches for job {}", event.getJob().getId(), e);
+        }
+    }
+
+    private void recordMatches(JobChangedEvent event) {
+        Job job = event.getJob();
+        Job previousJob = event.getPreviousJob();
+        if (event.getChangeType() == JobChangedEvent.ChangeType.DELETED
+                || job.getStatus() != Job.JobStatus.ACTIVE
+                || (previousJob != null && previousJob.getStatus() == Job.JobStatus.ACTIVE)) {
+            return;
+        }
+
+        List<UUID> matchedIds = percolate(job);
+        if (matchedIds.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> alreadyMatched = new HashSet<>(savedSearchMatchRepository.findSavedSearchIdsByJobId(job.getId()));
+        List<SavedSearchMatch> matches = new ArrayList<>();
+        for (UUID savedSearchId : matchedIds) {
+            if (!alreadyMatched.contains(savedSearchId)) {
+                SavedSearchMatch match = new SavedSearchMatch();
+                match.setSavedSearch(savedSearchRepository.getReferenceById(savedSearchId));
+                match.setJob(jobRepository.getReferenceById(job.getId()));
+                matches.add(match);
+            }
+        }
+        savedSearchMatchRepository.saveAll(matches);
+
+        log.debug("Job {} matched {} saved searches", job.getId(), matches.size());
+    }
+
+    // Ids of the active saved searches the job satisfies
+    public List<UUID> percolate(Job job) {
+        PercolatedJob candidate = PercolatedJob.from(job);
+
+        lock.readLock().lock();
+        try {
+            // A search sits in exactly one bucket, so identity de-duplication only guards repeated job values
+            Set<CompiledSearch> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (String skill : candidate.skills) {
+                candidates.addAll(bySkill.getOrDefault(skill, Collections.emptySet()));
+            }
+            if (candidate.jobType != null) {
+                candidates.addAll(byJobType.getOrDefault(candidate.jobType, Collections.emptySet()));
+            }
+            for (String word : candidate.locationWords) {
+                for (int start = 0; start < word.length(); start++) {
+                    for (int end = start + 1; end <= word.length(); end++) {
+                        Set<CompiledSearch> searches = byLocationWord.get(word.substring(start, end));
+                        if (searches != null) {
+                            candidates.addAll(searches);
+                        }
+                    }
+                }
+            }
+            if (candidate.salaryRangeMax != null) {
+                byMinSalary.headMap(candidate.salaryRangeMax, true).values().forEach(candidates::addAll);
+            }
+            candidates.addAll(unanchored);
+
+            List<UUID> matched = new ArrayList<>();
+            for (CompiledSearch search : candidates) {
+                if (search.matches(candidate)) {
+                    matched.add(search.id);
+                }
+            }
+            return matched;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(CompiledSearch search) {
+        searchesById.put(search.id, search);
+        bucket(search).forEach(searches -> searches.add(search));
+    }
+
+    private void remove(UUID savedSearchId) {
+        CompiledSearch existing = searchesById.remove(savedSearchId);
+        if (existing == null) {
+            return;
+        }
+        bucket(existing).forEach(searches -> searches.remove(existing));
+        // Drop emptied buckets so the salary range walk stays short
+        bySkill.values().removeIf(Set::isEmpty);
+        byJobType.values().removeIf(Set::isEmpty);
+        byLocationWord.values().removeIf(Set::isEmpty);
+        byMinSalary.values().removeIf(Set::isEmpty);
+    }
+
+    // The bucket(s) a search is filed under, most selective dimension first.
+    // ANY-skill searches need one bucket per skill; for the other dimensions one value is required, so one bucket is enough.
+    private List<Set<CompiledSearch>> bucket(CompiledSearch search) {
+        if (!search.skills.isEmpty()) {
+            List<String> keys = search.matchAllSkills ? search.skills.subList(0, 1) : search.skills;
+            return keys.stream()
+                .map(skill -> bySkill.computeIfAbsent(skill, k -> new HashSet<>()))
+                .toList();
+        }
+        if (search.jobType != null) {
+            return List.of(byJobType.computeIfAbsent(search.jobType, k -> new HashSet<>()));
+        }
+        if (search.locationWord != null) {
+            return List.of(byLocationWord.computeIfAbsent(search.locationWord, k -> new HashSet<>()));
+        }
+        if (search.minSalary != null) {
+            return List.of(byMinSalary.computeIfAbsent(search.minSalary, k -> new HashSet<>()));
+        }
+        return List.of(unanchored);
+    }
+
+    // Saved search criteria, normalized once
+    private static class CompiledSearch {
+        private UUID id;
+        private List<String> queryTokens;
+        private String location;
+        private String locationWord;
+        private String jobType;
+        private String experienceRequired;
+        private List<String> skills;
+        private boolean matchAllSkills;
+        private BigDecimal minSalary;
+        private BigDecimal maxSalary;
+        private String currency;
+
+        static CompiledSearch compile(SavedSearch search) {
+            SavedSearchCriteria criteria = search.getSearchCriteria() != null
+                ? search.getSearchCriteria()
+                : new SavedSearchCriteria();
+
+            CompiledSearch compiled = new CompiledSearch();
+            compiled.id = search.getId();
+            compiled.queryTokens = JobSearchIndex.tokenize(criteria.getQuery());
+            compiled.location = JobSearchIndex.normalize(criteria.getLocation());
+            List<String> locationWords = JobSearchIndex.tokenize(criteria.getLocation());
+            compiled.locationWord = locationWords.isEmpty() ? null : locationWords.get(0);
+            compiled.jobType = criteria.getJobType();
+            compiled.experienceRequired = criteria.getExperienceRequired();
+            List<String> skills = SearchFilters.normalizeSkills(criteria.getSkills());
+            compiled.skills = skills != null ? skills : List.of();
+            compiled.matchAllSkills = "ALL".equalsIgnoreCase(criteria.getSkillMatch());
+            compiled.minSalary = criteria.getMinSalary();
+            compiled.maxSalary = criteria.getMaxSalary();
+            compiled.currency = criteria.getCurrency();
+            return compiled;
+        }
+
+        // Same filter semantics as /api/jobs (JobSearchIndex.IndexedJob.failedFilters)
+        boolean matches(PercolatedJob job) {
+            if (location != null && (job.location == null || !job.location.contains(location))) {
+                return false;
+            }
+            if (jobType != null && !jobType.equals(job.jobType)) {
+                return false;
+            }
+            if (experienceRequired != null && !experienceRequired.equals(job.experienceRequired)) {
+                return false;
+            }
+            if (currency != null && !currency.equals(job.currency)) {
+                return false;
+            }
+            if (minSalary != null && (job.salaryRangeMax == null || job.salaryRangeMax.compareTo(minSalary) < 0)) {
+                return false;
+            }
+            if (maxSalary != null && (job.salaryRangeMin == null || job.salaryRangeMin.compareTo(maxSalary) > 0)) {
+                return false;
+            }
+            if (!skills.isEmpty()) {
+                boolean skillsMatch = matchAllSkills
+                    ? job.skills.containsAll(skills)
+                    : skills.stream().anyMatch(job.skills::contains);
+                if (!skillsMatch) {
+                    return false;
+                }
+            }
+            // Every query token must prefix-match a token of the job
+            for (String queryToken : queryTokens) {
+                if (job.tokens.stream().noneMatch(token -> token.startsWith(queryToken))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // The searchable fields of the job being percolated
+    private static class PercolatedJob {
+        private Set<String> tokens;
+        private String location;
+        private List<String> locationWords;
+        private String jobType;
+        private String experienceRequired;
+        private Set<String> skills;
+        private BigDecimal salaryRangeMin;
+        private BigDecimal salaryRangeMax;
+        private String currency;
+
+        static PercolatedJob from(Job job) {
+            PercolatedJob percolated = new PercolatedJob();
+            percolated.location = JobSearchIndex.normalize(job.getLocation());
+            percolated.locationWords = JobSearchIndex.tokenize(job.getLocation());
+            percolated.jobType = job.getJobType();
+            percolated.experienceRequired = job.getExperienceRequired();
+            percolated.salaryRangeMin = job.getSalaryRangeMin();
+            percolated.salaryRangeMax = job.getSalaryRangeMax();
+            percolated.currency = job.getCurrency();
+
+            List<String> normalizedSkills = SearchFilters.normalizeSkills(job.getSkills());
+            percolated.skills = normalizedSkills != null ? new HashSet<>(normalizedSkills) : Collections.emptySet();
+
+            Set<String> tokens = new HashSet<>();
+            tokens.addAll(JobSearchIndex.tokenize(job.getJobTitle()));
+            tokens.addAll(JobSearchIndex.tokenize(job.getDescription()));
+            tokens.addAll(percolated.locationWords);
+            if (job.getEmployer() != null && Hibernate.isInitialized(job.getEmployer())) {
+                tokens.addAll(JobSearchIndex.tokenize(job.getEmployer().getCompanyName()));
+            }
+            if (job.getSkills() != null) {
+                job.getSkills().forEach(s -> tokens.addAll(JobSearchIndex.tokenize(s)));
+            }
+            percolated.tokens = tokens;
+            return percolated;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.gradia.service;
+
+import com.gradia.dto.ApiResponse;
+import com.gradia.dto.JobResponse;
+import com.gradia.dto.SavedSearchRequest;
+import com.gradia.model.SavedSearch;
+import com.gradia.model.User;
+import com.gradia.repository.SavedSearchMatchRepository;
+import com.gradia.repository.SavedSearchRepository;
+import com.gradia.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class SavedSearchService {
+    
+    private final SavedSearchRepository savedSearchRepository;
+    private final SavedSearchMatchRepository savedSearchMatchRepository;
+    private final UserRepository userRepository;
+    private final SavedSearchPercolator savedSearchPercolator;
+    private final JobService jobService;
+    
+    public ApiResponse<SavedSearch> createSavedSearch(UUID userId, SavedSearchRequest request) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        
+        SavedSearch savedSearch = new SavedSearch();
+        savedSearch.setUser(user);
+        savedSearch.setSearchName(request.getSearchName());
+        savedSearch.setSearchCriteria(request.getSearchCriteria());
+        savedSearch.setIsActive(true);
+        
+        // Saved (and committed) before it is registered, so percolated matches never reference a missing row
+        savedSearch = savedSearchRepository.save(savedSearch);
+        savedSearchPercolator.register(savedSearch);
+        
+        return ApiResponse.success(savedSearch, "Saved search created successfully");
+    }
+    
+    @Transactional(readOnly = true)
+    public ApiResponse<List<SavedSearch>> getSavedSearches(UUID userId) {
+        List<SavedSearch> savedSearches = savedSearchRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        return ApiResponse.success(savedSearches, "Saved searches retrieved successfully");
+    }
+    
+    @Transactional(readOnly = true)
+    public ApiResponse<List<JobResponse>> getMatchedJobs(UUID userId, UUID savedSearchId) {
+        SavedSearch savedSearch = findOwnedSearch(userId, savedSearchId);
+        
+        List<UUID> jobIds = savedSearchMatchRepository.findJobIdsBySavedSearchId(savedSearch.getId());
+        return ApiResponse.success(jobService.hydrateJobs(jobIds), "Matched jobs retrieved successfully");
+    }
+    
+    public ApiResponse<Void> deleteSavedSearch(UUID userId, UUID savedSearchId) {
+        SavedSearch savedSearch = findOwnedSearch(userId, savedSearchId);
+        
+        savedSearchRepository.delete(savedSearch);
+        savedSearchPercolator.unregister(savedSearchId);
+        
+        return ApiResponse.success(null, "Saved search deleted successfully");
+    }
+    
+    private SavedSearch findOwnedSearch(UUID userId, UUID savedSearchId) {
+        SavedSearch savedSearch = savedSearchRepository.findById(savedSearchId)
+            .orElseThrow(() -> new RuntimeException("Saved search not found"));
+        
+        if (!savedSearch.getUser().getId().equals(userId)) {
+            throw new RuntimeException("Unauthorized to access this saved search");
+        }
+        return savedSearch;
+    }
+}
@@ -0,0 +1,315 @@
+package com.gradia.service;
+
+import com.gradia.model.Job;
+import com.gradia.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// "Similar jobs" over ACTIVE jobs.
+// Each job is a sparse TF-IDF vector of its title, skills, description and requirements, with tokens hashed into
+// 2^18 dimensions (no vocabulary to maintain), and is stored in LSH tables keyed by random hyperplane signatures.
+// A query reads the job's bucket in every table (plus neighbouring buckets if that is too few jobs)
+// and ranks that short list by exact cosine similarity.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SimilarJobIndex {
+
+    private static final int DIMENSION_BITS = 18;
+    private static final int DIMENSIONS = 1 << DIMENSION_BITS;
+    private static final int TABLES = 12;
+    private static final int SIGNATURE_BITS = 10;
+
+    private static final float TITLE_WEIGHT = 3;
+    private static final float SKILL_WEIGHT = 2;
+    private static final float TEXT_WEIGHT = 1;
+
+    private final JobRepository jobRepository;
+
+    private final Map<UUID, JobVector> vectors = new HashMap<>();
+    // One map per table: signature -> ids of the jobs in that bucket
+    private final List<Map<Integer, Set<UUID>>> tables = newTables();
+    // Number of indexed jobs containing each hashed feature
+    private final int[] documentFrequency = new int[DIMENSIONS];
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Changes committed while rebuild() reads the database, replayed over what it read (null = removed).
+    // Null while no rebuild is running.
+    private Map<UUID, Map<Integer, Float>> pendingChanges;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Job> activeJobs;
+        try {
+            activeJobs = jobRepository.findByStatusOrderByPostedDateDesc(Job.JobStatus.ACTIVE);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            vectors.clear();
+            tables.forEach(Map::clear);
+            Arrays.fill(documentFrequency, 0);
+
+            // Document frequencies first, so every vector is weighted with the IDF of the whole catalog
+            Map<UUID, Map<Integer, Float>> termFrequencies = new HashMap<>();
+            for (Job job : activeJobs) {
+                Map<Integer, Float> tf = termFrequencies(job);
+                termFrequencies.put(job.getId(), tf);
+                tf.keySet().forEach(feature -> documentFrequency[feature]++);
+            }
+            int documents = termFrequencies.size();
+            termFrequencies.forEach((jobId, tf) -> insert(jobId, vectorize(tf, documents)));
+            // A change may also be in what was read; replaying it again is harmless
+            pendingChanges.forEach(this::apply);
+            pendingChanges = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Similar job index built with {} active jobs", activeJobs.size());
+    }
+
+    @TransactionalEventListener
+    public void onJobChanged(JobChangedEvent event) {
+        Job job = event.getJob();
+        Map<Integer, Float> tf = event.getChangeType() != JobChangedEvent.ChangeType.DELETED
+                && job.getStatus() == Job.JobStatus.ACTIVE
+            ? termFrequencies(job)
+            : null;
+
+        lock.writeLock().lock();
+        try {
+            apply(job.getId(), tf);
+            if (pendingChanges != null) {
+                pendingChanges.put(job.getId(), tf);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Most similar active jobs, or null if the job isn't indexed (not active)
+    public List<UUID> findSimilar(UUID jobId, int limit) {
+        lock.readLock().lock();
+        try {
+            JobVector vector = vectors.get(jobId);
+            return vector != null ? nearest(jobId, vector, limit) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // For jobs outside the index: vectorized with the current IDF, without being added
+    public List<UUID> findSimilar(Job job, int limit) {
+        lock.readLock().lock();
+        try {
+            return nearest(job.getId(), vectorize(termFrequencies(job), vectors.size() + 1), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<UUID> nearest(UUID jobId, JobVector query, int limit) {
+        Set<UUID> candidates = new HashSet<>();
+        for (int table = 0; table < tables.size(); table++) {
+            candidates.addAll(tables.get(table).getOrDefault(query.signatures[table], Collections.emptySet()));
+        }
+        // Multi-probe: buckets one bit away when the exact buckets hold too few jobs
+        if (candidates.size() <= limit) {
+            for (int table = 0; table < tables.size(); table++) {
+                for (int bit = 0; bit < SIGNATURE_BITS; bit++) {
+                    candidates.addAll(tables.get(table)
+                        .getOrDefault(query.signatures[table] ^ (1 << bit), Collections.emptySet()));
+                }
+            }
+        }
+        candidates.remove(jobId);
+
+        List<Map.Entry<UUID, Double>> scored = new ArrayList<>(candidates.size());
+        for (UUID candidateId : candidates) {
+            double similarity = cosine(query, vectors.get(candidateId));
+            if (similarity > 0) {
+                scored.add(Map.entry(candidateId, similarity));
+            }
+        }
+        scored.sort(Map.Entry.<UUID, Double>comparingByValue().reversed());
+
+        List<UUID> result = new ArrayList<>(Math.min(limit, scored.size()));
+        for (int i = 0; i < scored.size() && i < limit; i++) {
+            result.add(scored.get(i).getKey());
+        }
+        return result;
+    }
+
+    // Replaces the job's vector; null term frequencies remove it
+    private void apply(UUID jobId, Map<Integer, Float> tf) {
+        remove(jobId);
+        if (tf != null) {
+            // IDF drifts as jobs come and go; vectors already indexed keep theirs until the next rebuild
+            tf.keySet().forEach(feature -> documentFrequency[feature]++);
+            insert(jobId, vectorize(tf, vectors.size() + 1));
+        }
+    }
+
+    private void insert(UUID jobId, JobVector vector) {
+        vectors.put(jobId, vector);
+        for (int table = 0; table < tables.size(); table++) {
+            tables.get(table).computeIfAbsent(vector.signatures[table], k -> new HashSet<>()).add(jobId);
+        }
+    }
+
+    private void remove(UUID jobId) {
+        JobVector vector = vectors.remove(jobId);
+        if (vector == null) {
+            return;
+        }
+        for (int table = 0; table < tables.size(); table++) {
+            Set<UUID> bucket = tables.get(table).get(vector.signatures[table]);
+            if (bucket != null) {
+                bucket.remove(jobId);
+                if (bucket.isEmpty()) {
+                    tables.get(table).remove(vector.signatures[table]);
+                }
+            }
+        }
+        for (int feature : vector.indices) {
+            documentFrequency[feature]--;
+        }
+    }
+
+    // Weighted term counts per hashed feature; title and skill terms count more than body text
+    private static Map<Integer, Float> termFrequencies(Job job) {
+        Map<Integer, Float> tf = new HashMap<>();
+        addTokens(tf, job.getJobTitle(), TITLE_WEIGHT);
+        if (job.getSkills() != null) {
+            for (String skill : job.getSkills()) {
+                String normalized = JobSearchIndex.normalize(skill);
+                if (normalized != null) {
+                    // Whole skill as its own feature, so "machine learning" also matches as a unit
+                    tf.merge(feature("skill:" + normalized), SKILL_WEIGHT, Float::sum);
+                    addTokens(tf, normalized, SKILL_WEIGHT);
+                }
+            }
+        }
+        addTokens(tf, job.getDescription(), TEXT_WEIGHT);
+        addTokens(tf, job.getRequirements(), TEXT_WEIGHT);
+        return tf;
+    }
+
+    private static void addTokens(Map<Integer, Float> tf, String text, float weight) {
+        for (String token : JobSearchIndex.tokenize(text)) {
+            if (token.length() > 1) {
+                tf.merge(feature(token), weight, Float::sum);
+            }
+        }
+    }
+
+    // Sublinear TF times smoothed IDF, L2 normalized so a dot product is the cosine
+    private JobVector vectorize(Map<Integer, Float> tf, int documents) {
+        int[] indices = tf.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        float[] values = new float[indices.length];
+        double norm = 0;
+        for (int i = 0; i < indices.length; i++) {
+            double idf = Math.log((1.0 + documents) / (1.0 + documentFrequency[indices[i]])) + 1;
+            values[i] = (float) ((1 + Math.log(tf.get(indices[i]))) * idf);
+            norm += values[i] * values[i];
+        }
+        norm = Math.sqrt(norm);
+        for (int i = 0; i < values.length && norm > 0; i++) {
+            values[i] /= norm;
+        }
+
+        int[] signatures = new int[TABLES];
+        for (int table = 0; table < TABLES; table++) {
+            int signature = 0;
+            for (int bit = 0; bit < SIGNATURE_BITS; bit++) {
+                // Hyperplane components are +-1 derived from a hash, so no dense plane is ever stored
+                int plane = table * SIGNATURE_BITS + bit;
+                double projection = 0;
+                for (int i = 0; i < indices.length; i++) {
+                    projection += (mix(indices[i] * 0x9E3779B1 ^ (plane + 1) * 0x85EBCA77) & 1) == 0 ? values[i] : -values[i];
+                }
+                if (projection >= 0) {
+                    signature |= 1 << bit;
+                }
+            }
+            signatures[table] = signature;
+        }
+        return new JobVector(indices, values, signatures);
+    }
+
+    private static List<Map<Integer, Set<UUID>>> newTables() {
+        List<Map<Integer, Set<UUID>>> tables = new ArrayList<>(TABLES);
+        for (int i = 0; i < TABLES; i++) {
+            tables.add(new HashMap<>());
+        }
+        return tables;
+    }
+
+    private static double cosine(JobVector a, JobVector b) {
+        int i = 0;
+        int j = 0;
+        double dot = 0;
+        while (i < a.indices.length && j < b.indices.length) {
+            if (a.indices[i] == b.indices[j]) {
+                dot += a.values[i++] * b.values[j++];
+            } else if (a.indices[i] < b.indices[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return dot;
+    }
+
+    private static int feature(String term) {
+        return mix(term.hashCode()) >>> (32 - DIMENSION_BITS);
+    }
+
+    // murmur3 finalizer
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static class JobVector {
+        private final int[] indices; // Sorted hashed features
+        private final float[] values;
+        private final int[] signatures; // One per LSH table
+
+        JobVector(int[] indices, float[] values, int[] signatures) {
+            this.indices = indices;
+            this.values = values;
+            this.signatures = signatures;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.gradia.service;
+
+import com.gradia.model.Job;
+import com.gradia.model.ProfileMetadata;
+import com.gradia.repository.JobRepository;
+import com.gradia.repository.ProfileMetadataRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// In-memory skill filter over ACTIVE jobs and candidate profiles.
+// Each job and candidate gets a dense int ordinal (freed ordinals are reused) and each SkillDictionary id
+// an OrdinalSet of the ordinals holding it, so ALL / ANY / NONE skill filters are set intersections,
+// unions and differences instead of array scans in SQL.
+// Candidate search filters through it; the job sets only serve per-skill lookups (IncrementalJobMatcher), since
+// job skill filters are answered by JobSearchIndex for ACTIVE jobs and by SQL for every other status.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SkillBitmapIndex {
+
+    private final JobRepository jobRepository;
+    private final ProfileMetadataRepository profileMetadataRepository;
+    private final SkillDictionary skillDictionary;
+    private final TransactionTemplate transactionTemplate;
+
+    private final OrdinalBitmaps jobs = new OrdinalBitmaps();
+    private final OrdinalBitmaps candidates = new OrdinalBitmaps();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Changes committed while rebuild() reads the database, replayed over what it read (null = removed).
+    // Null while no rebuild is running.
+    private Map<UUID, int[]> pendingJobs;
+    private Map<UUID, int[]> pendingCandidates;
+    private volatile boolean ready = false;
+
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingJobs = new LinkedHashMap<>();
+            pendingCandidates = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<UUID, int[]> jobSkills = new HashMap<>();
+        Map<UUID, int[]> candidateSkills = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> jobRepository.findByStatusOrderByPostedDateDesc(Job.JobStatus.ACTIVE)
+                .forEach(job -> jobSkills.put(job.getId(), skillIds(job))));
+
+            // Candidates are read a chunk at a time by keyset on the metadata id (as in JobMatchingEngine), each chunk
+            // in its own transaction, so only the skill ids outlive a chunk's entities
+            UUID afterId = JobMatchingEngine.FIRST_ID;
+            while (afterId != null) {
+                UUID from = afterId;
+                afterId = transactionTemplate.execute(tx -> {
+                    List<ProfileMetadata> page = profileMetadataRepository.findCandidatesWithProfileAfter(
+                        from, PageRequest.of(0, JobMatchingEngine.CHUNK_SIZE));
+                    page.forEach(metadata -> candidateSkills.put(metadata.getProfile().getId(), skillIds(metadata)));
+                    return page.size() < JobMatchingEngine.CHUNK_SIZE ? null : page.get(page.size() - 1).getId();
+                });
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingJobs = null;
+                pendingCandidates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            jobs.clear();
+            candidates.clear();
+            jobSkills.forEach(jobs::put);
+            candidateSkills.forEach(candidates::put);
+            // A change may also be in what was read; replaying it again is harmless
+            pendingJobs.forEach(jobs::apply);
+            pendingCandidates.forEach(candidates::apply);
+            pendingJobs = null;
+            pendingCandidates = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Skill bitmap index built with {} active jobs and {} candidates",
+            jobSkills.size(), candidateSkills.size());
+    }
+
+    @Order(0)
+    @TransactionalEventListener
+    public void onJobChanged(JobChangedEvent event) {
+        Job job = event.getJob();
+        int[] skills = event.getChangeType() != JobChangedEvent.ChangeType.DELETED
+                && job.getStatus() == Job.JobStatus.ACTIVE
+            ? skillIds(job)
+            : null;
+
+        lock.writeLock().lock();
+        try {
+            jobs.apply(job.getId(), skills);
+            if (pendingJobs != null) {
+                pendingJobs.put(job.getId(), skills);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(0)
+    @TransactionalEventListener
+    public void onProfileChanged(ProfileChangedEvent event) {
+        UUID profileId = event.getProfile().getId();
+        int[] skills = skillIds(event.getMetadata());
+
+        lock.writeLock().lock();
+        try {
+            candidates.put(profileId, skills);
+            if (pendingCandidates != null) {
+                pendingCandidates.put(profileId, skills);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Ids of the candidates with every skill in all, at least one in any (if given) and none in none
+    public List<UUID> findCandidates(int[] all, int[] any, int[] none) {
+        return find(candidates, all, any, none);
+    }
+
+    // Visits the active jobs with the skill; the action runs under the read lock and must not write to the index
+    public void forEachJobWithSkill(int skill, Consumer<UUID> action) {
+        forEachWithSkill(jobs, skill, action);
+    }
+
+    public void forEachCandidateWithSkill(int skill, Consumer<UUID> action) {
+        forEachWithSkill(candidates, skill, action);
+    }
+
+    private List<UUID> find(OrdinalBitmaps bitmaps, int[] all, int[] any, int[] none) {
+        lock.readLock().lock();
+        try {
+            return bitmaps.toIds(bitmaps.query(all, any, none));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void forEachWithSkill(OrdinalBitmaps bitmaps, int skill, Consumer<UUID> action) {
+        lock.readLock().lock();
+        try {
+            bitmaps.withSkill(skill).forEach(ordinal -> action.accept(bitmaps.ids.get(ordinal)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] skillIds(Job job) {
+        return job.getSkillIds() != null ? job.getSkillIds() : skillDictionary.lookupIds(job.getSkills());
+    }
+
+    private int[] skillIds(ProfileMetadata metadata) {
+        if (metadata.getSkillIds() != null) {
+            return metadata.getSkillIds();
+        }
+        return skillDictionary.lookupIds(metadata.getSkills() != null ? Arrays.asList(metadata.getSkills()) : null);
+    }
+
+    // Ordinal assignment and per-skill sets for one kind of entity
+    private static class OrdinalBitmaps {
+
+        private static final OrdinalSet EMPTY = new OrdinalSet(); // Never written to
+
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final List<UUID> ids = new ArrayList<>(); // ordinal -> id, null while free
+        private final List<int[]> skillsByOrdinal = new ArrayList<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final BitSet live = new BitSet();
+        private final List<OrdinalSet> bySkill = new ArrayList<>(); // Indexed by skill id
+
+        void put(UUID id, int[] skills) {
+            remove(id);
+
+            int ordinal = freeOrdinals.isEmpty() ? ids.size() : freeOrdinals.pop();
+            if (ordinal == ids.size()) {
+                ids.add(id);
+                skillsByOrdinal.add(skills);
+            } else {
+                ids.set(ordinal, id);
+                skillsByOrdinal.set(ordinal, skills);
+            }
+            ordinals.put(id, ordinal);
+            live.set(ordinal);
+
+            for (int skill : skills) {
+                while (bySkill.size() <= skill) {
+                    bySkill.add(new OrdinalSet());
+                }
+                bySkill.get(skill).add(ordinal);
+            }
+        }
+
+        // Replaces the entry; null skills remove it
+        void apply(UUID id, int[] skills) {
+            if (skills != null) {
+                put(id, skills);
+            } else {
+                remove(id);
+            }
+        }
+
+        void remove(UUID id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal == null) {
+                return;
+            }
+            for (int skill : skillsByOrdinal.get(ordinal)) {
+                bySkill.get(skill).remove(ordinal);
+            }
+            ids.set(ordinal, null);
+            skillsByOrdinal.set(ordinal, null);
+            live.clear(ordinal);
+            freeOrdinals.push(ordinal);
+        }
+
+        void clear() {
+            ordinals.clear();
+            ids.clear();
+            skillsByOrdinal.clear();
+            freeOrdinals.clear();
+            live.clear();
+            bySkill.clear();
+        }
+
+        OrdinalSet withSkill(int skill) {
+            return skill >= 0 && skill < bySkill.size() ? bySkill.get(skill) : EMPTY;
+        }
+
+        BitSet query(int[] all, int[] any, int[] none) {
+            BitSet result;
+            if (all != null && all.length > 0) {
+                // Start from the rarest skill so every further intersection works on the smallest set
+                OrdinalSet[] required = Arrays.stream(all)
+                    .mapToObj(this::withSkill)
+                    .sorted(Comparator.comparingInt(OrdinalSet::cardinality))
+                    .toArray(OrdinalSet[]::new);
+                result = required[0].toBitSet();
+                for (int i = 1; i < required.length && !result.isEmpty(); i++) {
+                    required[i].andInto(result);
+                }
+            } else {
+                result = (BitSet) live.clone();
+            }
+
+            if (any != null && any.length > 0) {
+                BitSet union = new BitSet();
+                for (int skill : any) {
+                    withSkill(skill).orInto(union);
+                }
+                result.and(union);
+            }
+            if (none != null) {
+                for (int skill : none) {
+                    withSkill(skill).andNotInto(result);
+                }
+            }
+            return result;
+        }
+
+        List<UUID> toIds(BitSet ordinalsSet) {
+            List<UUID> result = new ArrayList<>(ordinalsSet.cardinality());
+            ordinalsSet.stream().forEach(ordinal -> result.add(ids.get(ordinal)));
+            return result;
+        }
+    }
+}
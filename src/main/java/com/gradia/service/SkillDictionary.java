@@ -0,0 +1,162 @@
+package com.gradia.service;
+
+import com.gradia.model.Skill;
+import com.gradia.model.SkillAlias;
+import com.gradia.repository.SkillAliasRepository;
+import com.gradia.repository.SkillRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory String -> int interner over the skills / skill_aliases tables.
+// Skill names are normalized (trimmed, lowercased) and aliases resolve to their canonical skill,
+// so "Java", "java " and "JAVA" share one id and "js" maps to the id of "javascript".
+@Slf4j
+@Component
+public class SkillDictionary {
+
+    private static final String SELECT_ID_SQL = "SELECT id FROM skills WHERE name = ?";
+    private static final String INSERT_SQL =
+        "INSERT INTO skills (name, display_name, created_at) VALUES (?, ?, CURRENT_TIMESTAMP)";
+
+    private final SkillRepository skillRepository;
+    private final SkillAliasRepository skillAliasRepository;
+    private final JdbcTemplate jdbcTemplate;
+    // Joins the caller's transaction (or starts one) and scopes the savepoint of a new skill's insert
+    private final TransactionTemplate inCallerTransaction;
+
+    // Canonical names and aliases -> skill id
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+    private volatile boolean loaded = false;
+
+    public SkillDictionary(SkillRepository skillRepository, SkillAliasRepository skillAliasRepository,
+                           JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.skillRepository = skillRepository;
+        this.skillAliasRepository = skillAliasRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.inCallerTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Sorted, distinct ids of the skills; unknown skills are added to the dictionary
+    public int[] toIds(Collection<String> skills) {
+        return ids(skills, true);
+    }
+
+    // Sorted, distinct ids of the skills already in the dictionary; unknown skills are dropped
+    public int[] lookupIds(Collection<String> skills) {
+        return ids(skills, false);
+    }
+
+    public String nameOf(int id) {
+        ensureLoaded();
+        return namesById.get(id);
+    }
+
+    public synchronized void reload() {
+        idsByName.clear();
+        namesById.clear();
+        for (Skill skill : skillRepository.findAll()) {
+            idsByName.put(skill.getName(), skill.getId());
+            namesById.put(skill.getId(), skill.getName());
+        }
+        for (SkillAlias alias : skillAliasRepository.findAll()) {
+            idsByName.put(alias.getAlias(), alias.getSkillId());
+        }
+        loaded = true;
+        log.info("Skill dictionary loaded with {} skills", namesById.size());
+    }
+
+    private int[] ids(Collection<String> skills, boolean intern) {
+        if (skills == null || skills.isEmpty()) {
+            return new int[0];
+        }
+        ensureLoaded();
+
+        int[] ids = new int[skills.size()];
+        int count = 0;
+        for (String skill : skills) {
+            String name = JobSearchIndex.normalize(skill);
+            if (name == null) {
+                continue;
+            }
+            Integer id = idsByName.get(name);
+            if (id == null && intern) {
+                id = create(name, skill.trim());
+            }
+            if (id != null) {
+                ids[count++] = id;
+            }
+        }
+        return Arrays.stream(ids, 0, count).sorted().distinct().toArray();
+    }
+
+    // Runs in the caller's transaction: the new skill commits (or rolls back) with the row that references it,
+    // and only a committed skill is cached. The insert sits in a savepoint so a concurrent insert of the same
+    // name (unique violation) is rolled back on its own and the other transaction's row is read instead.
+    private int create(String name, String displayName) {
+        Integer id = inCallerTransaction.execute(tx -> findId(name).orElseGet(() -> insert(name, displayName, tx)));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache(name, id);
+                }
+            });
+        } else {
+            cache(name, id);
+        }
+        return id;
+    }
+
+    private Integer insert(String name, String displayName, TransactionStatus tx) {
+        Object savepoint = tx.createSavepoint();
+        try {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[]{"id"});
+                ps.setString(1, name);
+                ps.setString(2, displayName);
+                return ps;
+            }, keyHolder);
+            tx.releaseSavepoint(savepoint);
+            return keyHolder.getKey().intValue();
+        } catch (DuplicateKeyException e) {
+            // Added concurrently by another transaction, which has committed by now
+            tx.rollbackToSavepoint(savepoint);
+            return findId(name).orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<Integer> findId(String name) {
+        return jdbcTemplate.queryForList(SELECT_ID_SQL, Integer.class, name).stream().findFirst();
+    }
+
+    private void cache(String name, int id) {
+        idsByName.putIfAbsent(name, id);
+        namesById.putIfAbsent(id, name);
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    reload();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.gradia.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Copies an uploaded file to its storage in fixed-size chunks through a pool of direct buffers,
+// computing the size and SHA-256 and checking the leading bytes against the file extension on the way.
+// Heap use per upload is constant whatever the file size; the pool bounds the buffer memory of concurrent uploads.
+@Component
+public class UploadStreamer {
+
+    // Leading bytes expected for each extension; extensions without an entry are not checked
+    private static final Map<String, List<byte[]>> SIGNATURES = Map.ofEntries(
+        Map.entry("pdf", List.of(ascii("%PDF-"))),
+        Map.entry("png", List.of(bytes(0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A))),
+        Map.entry("jpg", List.of(bytes(0xFF, 0xD8, 0xFF))),
+        Map.entry("jpeg", List.of(bytes(0xFF, 0xD8, 0xFF))),
+        Map.entry("gif", List.of(ascii("GIF87a"), ascii("GIF89a"))),
+        Map.entry("webp", List.of(ascii("RIFF"))),
+        Map.entry("doc", List.of(bytes(0xD0, 0xCF, 0x11, 0xE0, 0xA1, 0xB1, 0x1A, 0xE1))),
+        Map.entry("docx", List.of(bytes(0x50, 0x4B, 0x03, 0x04))),
+        Map.entry("zip", List.of(bytes(0x50, 0x4B, 0x03, 0x04), bytes(0x50, 0x4B, 0x05, 0x06))),
+        Map.entry("rar", List.of(ascii("Rar!\u001A\u0007")))
+    );
+
+    private final BlockingQueue<ByteBuffer> buffers;
+
+    public UploadStreamer(@Value("${file.upload.buffer-size:65536}") int bufferSize,
+                          @Value("${file.upload.buffer-count:32}") int bufferCount) {
+        this.buffers = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            buffers.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+    }
+
+    // Writes the file to sink, failing as soon as it exceeds maxSize or its content doesn't match the extension
+    public StreamedFile stream(MultipartFile file, String extension, long maxSize, WritableByteChannel sink)
+            throws IOException {
+        ByteBuffer buffer = acquire();
+        try (InputStream input = file.getInputStream();
+             ReadableByteChannel source = Channels.newChannel(input)) {
+            MessageDigest digest = LocalBlobStore.sha256();
+            long size = 0;
+            boolean endOfInput = false;
+            while (!endOfInput) {
+                // Fill a whole chunk, so the first one holds the complete file signature
+                buffer.clear();
+                while (buffer.hasRemaining()) {
+                    if (source.read(buffer) < 0) {
+                        endOfInput = true;
+                        break;
+                    }
+                }
+                buffer.flip();
+                if (!buffer.hasRemaining()) {
+                    break;
+                }
+
+                if (size == 0) {
+                    checkSignature(buffer, extension);
+                }
+                size += buffer.remaining();
+                if (size > maxSize) {
+                    throw new RuntimeException("File size exceeds maximum limit of " + (maxSize / (1024 * 1024)) + "MB");
+                }
+
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    sink.write(buffer);
+                }
+            }
+
+            if (size == 0) {
+                throw new RuntimeException("File is empty");
+            }
+            return new StreamedFile(size, HexFormat.of().formatHex(digest.digest()));
+        } finally {
+            buffers.offer(buffer);
+        }
+    }
+
+    private ByteBuffer acquire() throws IOException {
+        try {
+            ByteBuffer buffer = buffers.poll(30, TimeUnit.SECONDS);
+            if (buffer == null) {
+                throw new RuntimeException("Too many uploads in progress, please try again");
+            }
+            return buffer;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an upload buffer", e);
+        }
+    }
+
+    private static void checkSignature(ByteBuffer chunk, String extension) {
+        if ("txt".equals(extension)) {
+            // Plain text has no signature; a NUL byte means it is binary
+            for (int i = chunk.position(); i < chunk.limit(); i++) {
+                if (chunk.get(i) == 0) {
+                    throw new RuntimeException("File content does not match the ." + extension + " extension");
+                }
+            }
+            return;
+        }
+
+        List<byte[]> signatures = SIGNATURES.get(extension);
+        if (signatures == null) {
+            return;
+        }
+        for (byte[] signature : signatures) {
+            if (startsWith(chunk, signature)) {
+                return;
+            }
+        }
+        throw new RuntimeException("File content does not match the ." + extension + " extension");
+    }
+
+    private static boolean startsWith(ByteBuffer chunk, byte[] prefix) {
+        if (chunk.remaining() < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (chunk.get(chunk.position() + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] bytes(int... values) {
+        byte[] result = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (byte) values[i];
+        }
+        return result;
+    }
+
+    public static class StreamedFile {
+        private final long size;
+        private final String contentHash; // SHA-256, hex
+
+        StreamedFile(long size, String contentHash) {
+            this.size = size;
+            this.contentHash = contentHash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+    }
+}
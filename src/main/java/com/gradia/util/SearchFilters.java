@@ -0,0 +1,50 @@
+package com.gradia.util;
+
+import com.gradia.dto.JobSearchRequest;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+// Filter normalization shared by the SQL search paths (JobService) and the in-memory indexes,
+// so both interpret a request the same way
+public final class SearchFilters {
+
+    private SearchFilters() {
+    }
+
+    // Trimmed, lowercased, de-duplicated skills as stored in jobs.skills_normalized
+    public static List<String> normalizeSkills(List<String> skills) {
+        if (skills == null) {
+            return null;
+        }
+        return skills.stream()
+            .filter(Objects::nonNull)
+            .map(skill -> skill.trim().toLowerCase(Locale.ROOT))
+            .filter(skill -> !skill.isEmpty())
+            .distinct()
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    public static boolean matchAllSkills(JobSearchRequest request) {
+        return "ALL".equalsIgnoreCase(request.getSkillMatch());
+    }
+
+    // With salaryCurrency the salary bounds are compared against the job's USD range
+    public static boolean normalizedSalaryFilter(JobSearchRequest request) {
+        return request.getSalaryCurrency() != null && !request.getSalaryCurrency().isBlank();
+    }
+
+    // PostgreSQL array literal ({"a","b"}) for CAST(:param AS TEXT[]), or null for no values
+    public static String toArrayLiteral(List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+
+        return values.stream()
+            .map(value -> "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"")
+            .collect(Collectors.joining(",", "{", "}"));
+    }
+}
@@ -0,0 +1,28 @@
+-- ============================================================================
+-- Normalized Job Skills for Indexed Multi-Skill Filtering
+-- ============================================================================
+-- jobs.skills keeps the employer's original spelling for display.
+-- jobs.skills_normalized holds the trimmed, lowercased, de-duplicated values
+-- so skill filters can use array containment (@>) and overlap (&&) operators,
+-- which are served by a GIN index instead of unnest() scans.
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS skills_normalized TEXT[];
+
+-- Backfill existing rows
+UPDATE jobs j
+SET skills_normalized = (
+    SELECT ARRAY(
+        SELECT DISTINCT LOWER(TRIM(s))
+        FROM unnest(j.skills) AS s
+        WHERE TRIM(s) <> ''
+        ORDER BY 1
+    )
+)
+WHERE j.skills IS NOT NULL;
+
+-- Replace the index on the raw column, which no query can use
+DROP INDEX IF EXISTS idx_jobs_skills;
+CREATE INDEX IF NOT EXISTS idx_jobs_skills_normalized ON jobs
+    USING GIN(skills_normalized) WHERE status = 'ACTIVE';
+
+COMMENT ON COLUMN jobs.skills_normalized IS 'Lowercased, trimmed, de-duplicated copy of skills maintained by JobService';
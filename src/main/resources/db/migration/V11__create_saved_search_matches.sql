@@ -0,0 +1,20 @@
+-- ============================================================================
+-- Saved Search Matches (Job Alerts)
+-- ============================================================================
+-- One row per (saved search, job) pair found by SavedSearchPercolator when a
+-- job becomes ACTIVE. Saved searches are matched in memory against the new
+-- job instead of re-running every saved search against the jobs table.
+
+CREATE TABLE IF NOT EXISTS saved_search_matches (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    saved_search_id UUID NOT NULL REFERENCES saved_searches(id) ON DELETE CASCADE,
+    job_id UUID NOT NULL REFERENCES jobs(id) ON DELETE CASCADE,
+    is_notified BOOLEAN NOT NULL DEFAULT false,
+    matched_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE(saved_search_id, job_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_saved_search_matches_search ON saved_search_matches(saved_search_id, matched_at DESC);
+CREATE INDEX IF NOT EXISTS idx_saved_search_matches_pending ON saved_search_matches(matched_at) WHERE is_notified = false;
+
+COMMENT ON TABLE saved_search_matches IS 'Jobs matched against saved searches when published - Warm data';
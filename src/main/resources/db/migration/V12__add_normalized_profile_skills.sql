@@ -0,0 +1,42 @@
+-- ============================================================================
+-- Normalized Candidate Skills and Languages for Employer Candidate Search
+-- ============================================================================
+-- Same approach as jobs.skills_normalized (V10): profile_metadata.skills and
+-- languages keep the candidate's spelling for display, the *_normalized copies
+-- hold trimmed, lowercased, de-duplicated values so filters can use @> / &&.
+
+ALTER TABLE profile_metadata ADD COLUMN IF NOT EXISTS skills_normalized TEXT[];
+ALTER TABLE profile_metadata ADD COLUMN IF NOT EXISTS languages_normalized TEXT[];
+
+-- Backfill existing rows
+UPDATE profile_metadata m
+SET skills_normalized = (
+    SELECT ARRAY(
+        SELECT DISTINCT LOWER(TRIM(s))
+        FROM unnest(m.skills) AS s
+        WHERE TRIM(s) <> ''
+        ORDER BY 1
+    )
+)
+WHERE m.skills IS NOT NULL;
+
+UPDATE profile_metadata m
+SET languages_normalized = (
+    SELECT ARRAY(
+        SELECT DISTINCT LOWER(TRIM(l))
+        FROM unnest(m.languages) AS l
+        WHERE TRIM(l) <> ''
+        ORDER BY 1
+    )
+)
+WHERE m.languages IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_profile_metadata_skills_normalized ON profile_metadata
+    USING GIN(skills_normalized);
+
+-- Keyset order of candidate search (most recently updated first)
+CREATE INDEX IF NOT EXISTS idx_profiles_last_activity ON profiles
+    ((COALESCE(updated_at, created_at)) DESC, id DESC);
+
+COMMENT ON COLUMN profile_metadata.skills_normalized IS 'Lowercased, trimmed, de-duplicated copy of skills maintained by CandidateProfileService';
+COMMENT ON COLUMN profile_metadata.languages_normalized IS 'Lowercased, trimmed, de-duplicated copy of languages maintained by CandidateProfileService';
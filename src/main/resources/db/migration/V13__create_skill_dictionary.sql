@@ -0,0 +1,103 @@
+-- ============================================================================
+-- Skill Dictionary
+-- ============================================================================
+-- Canonical skills with integer ids plus alias/synonym mappings ("js" ->
+-- "javascript"). jobs.skill_ids and profile_metadata.skill_ids hold the sorted
+-- ids of the canonical skills so matching can compare compact int arrays.
+-- Names and aliases are stored trimmed and lowercased (see SkillDictionary).
+
+CREATE TABLE IF NOT EXISTS skills (
+    id SERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    display_name VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS skill_aliases (
+    alias VARCHAR(255) PRIMARY KEY,
+    skill_id INTEGER NOT NULL REFERENCES skills(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_skill_aliases_skill ON skill_aliases(skill_id);
+
+-- Common skills and their usual spellings
+INSERT INTO skills (name, display_name) VALUES
+    ('javascript', 'JavaScript'),
+    ('typescript', 'TypeScript'),
+    ('python', 'Python'),
+    ('go', 'Go'),
+    ('c#', 'C#'),
+    ('c++', 'C++'),
+    ('node.js', 'Node.js'),
+    ('react', 'React'),
+    ('kubernetes', 'Kubernetes'),
+    ('postgresql', 'PostgreSQL'),
+    ('aws', 'AWS')
+ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO skill_aliases (alias, skill_id)
+SELECT a.alias, s.id
+FROM (VALUES
+    ('js', 'javascript'),
+    ('ecmascript', 'javascript'),
+    ('ts', 'typescript'),
+    ('py', 'python'),
+    ('golang', 'go'),
+    ('csharp', 'c#'),
+    ('cpp', 'c++'),
+    ('nodejs', 'node.js'),
+    ('node', 'node.js'),
+    ('reactjs', 'react'),
+    ('react.js', 'react'),
+    ('k8s', 'kubernetes'),
+    ('postgres', 'postgresql'),
+    ('amazon web services', 'aws')
+) AS a(alias, name)
+JOIN skills s ON s.name = a.name
+ON CONFLICT (alias) DO NOTHING;
+
+-- Every skill already used by a job or a candidate
+INSERT INTO skills (name)
+SELECT DISTINCT n.name
+FROM (
+    SELECT unnest(skills_normalized) AS name FROM jobs
+    UNION
+    SELECT unnest(skills_normalized) AS name FROM profile_metadata
+) n
+WHERE n.name IS NOT NULL AND n.name <> ''
+  AND NOT EXISTS (SELECT 1 FROM skill_aliases a WHERE a.alias = n.name)
+ON CONFLICT (name) DO NOTHING;
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS skill_ids INTEGER[];
+ALTER TABLE profile_metadata ADD COLUMN IF NOT EXISTS skill_ids INTEGER[];
+
+-- Backfill ids, resolving aliases to their canonical skill
+UPDATE jobs j
+SET skill_ids = ARRAY(
+    SELECT DISTINCT COALESCE(a.skill_id, s.id)
+    FROM unnest(j.skills_normalized) AS n(name)
+    LEFT JOIN skill_aliases a ON a.alias = n.name
+    LEFT JOIN skills s ON s.name = n.name
+    WHERE COALESCE(a.skill_id, s.id) IS NOT NULL
+    ORDER BY 1
+)
+WHERE j.skills_normalized IS NOT NULL;
+
+UPDATE profile_metadata m
+SET skill_ids = ARRAY(
+    SELECT DISTINCT COALESCE(a.skill_id, s.id)
+    FROM unnest(m.skills_normalized) AS n(name)
+    LEFT JOIN skill_aliases a ON a.alias = n.name
+    LEFT JOIN skills s ON s.name = n.name
+    WHERE COALESCE(a.skill_id, s.id) IS NOT NULL
+    ORDER BY 1
+)
+WHERE m.skills_normalized IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_skill_ids ON jobs USING GIN(skill_ids) WHERE status = 'ACTIVE';
+CREATE INDEX IF NOT EXISTS idx_profile_metadata_skill_ids ON profile_metadata USING GIN(skill_ids);
+
+COMMENT ON TABLE skills IS 'Canonical skill dictionary - Reference data';
+COMMENT ON TABLE skill_aliases IS 'Alternative spellings and synonyms of canonical skills - Reference data';
+COMMENT ON COLUMN jobs.skill_ids IS 'Sorted ids of the canonical skills of skills, maintained by JobService';
+COMMENT ON COLUMN profile_metadata.skill_ids IS 'Sorted ids of the canonical skills of skills, maintained by CandidateProfileService';
@@ -0,0 +1,12 @@
+-- ============================================================================
+-- Near-Duplicate Job Postings
+-- ============================================================================
+-- JobService flags a job whose title, description and requirements nearly
+-- repeat an earlier posting of the same employer (MinHash / LSH lookup in
+-- NearDuplicateJobDetector). duplicate_of points at that original posting.
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS duplicate_of UUID REFERENCES jobs(id) ON DELETE SET NULL;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_duplicate_of ON jobs(duplicate_of) WHERE duplicate_of IS NOT NULL;
+
+COMMENT ON COLUMN jobs.duplicate_of IS 'Original posting of the same employer this job nearly duplicates, maintained by JobService';
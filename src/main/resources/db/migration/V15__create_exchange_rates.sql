@@ -0,0 +1,58 @@
+-- ============================================================================
+-- Salary Normalization Across Currencies
+-- ============================================================================
+-- exchange_rates holds the USD value of one unit of each currency. JobService
+-- stores every job's salary range converted to USD in salary_min_usd /
+-- salary_max_usd, so a salary filter given in one currency (salaryCurrency)
+-- matches jobs posted in any currency. Rates are updated through
+-- PUT /api/admin/exchange-rates/{currency}, which re-normalizes the jobs.
+
+CREATE TABLE IF NOT EXISTS exchange_rates (
+    currency VARCHAR(10) PRIMARY KEY,
+    usd_rate NUMERIC(20, 10) NOT NULL CHECK (usd_rate > 0),
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Indicative rates; expected to be kept current by an administrator
+INSERT INTO exchange_rates (currency, usd_rate) VALUES
+    ('EUR', 1.08),
+    ('GBP', 1.27),
+    ('INR', 0.012),
+    ('CAD', 0.73),
+    ('AUD', 0.66),
+    ('NZD', 0.61),
+    ('JPY', 0.0067),
+    ('CNY', 0.14),
+    ('SGD', 0.74),
+    ('HKD', 0.128),
+    ('CHF', 1.12),
+    ('SEK', 0.095),
+    ('NOK', 0.094),
+    ('DKK', 0.145),
+    ('PLN', 0.25),
+    ('AED', 0.2723),
+    ('ZAR', 0.054),
+    ('BRL', 0.2),
+    ('MXN', 0.058)
+ON CONFLICT (currency) DO NOTHING;
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS salary_min_usd NUMERIC(14, 2);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS salary_max_usd NUMERIC(14, 2);
+
+UPDATE jobs
+SET salary_min_usd = salary_range_min,
+    salary_max_usd = salary_range_max
+WHERE currency IS NULL OR UPPER(currency) = 'USD';
+
+UPDATE jobs j
+SET salary_min_usd = ROUND(j.salary_range_min * r.usd_rate, 2),
+    salary_max_usd = ROUND(j.salary_range_max * r.usd_rate, 2)
+FROM exchange_rates r
+WHERE r.currency = UPPER(j.currency);
+
+-- Range overlap filters on active jobs (salary_max_usd >= min AND salary_min_usd <= max)
+CREATE INDEX IF NOT EXISTS idx_jobs_salary_usd ON jobs(salary_max_usd, salary_min_usd) WHERE status = 'ACTIVE';
+
+COMMENT ON TABLE exchange_rates IS 'USD value of one unit of each currency, used to normalize job salaries';
+COMMENT ON COLUMN jobs.salary_min_usd IS 'salary_range_min converted to USD, maintained by JobService';
+COMMENT ON COLUMN jobs.salary_max_usd IS 'salary_range_max converted to USD, maintained by JobService';
@@ -0,0 +1,23 @@
+-- ============================================================================
+-- Content-Addressed File Storage
+-- ============================================================================
+-- File contents move out of file_metadata.file_content (BYTEA) into a BlobStore
+-- selected by storage_provider (LOCAL: SHA-256 addressed files on disk).
+-- content_hash is the SHA-256 of the content and the blob key. Existing
+-- DATABASE rows are moved in the background by BlobMigrationService, which
+-- clears file_content once the blob is written.
+
+ALTER TABLE file_metadata ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+ALTER TABLE file_metadata ALTER COLUMN storage_provider SET DEFAULT 'LOCAL';
+
+-- Blob reference lookups before a blob is deleted
+CREATE INDEX IF NOT EXISTS idx_file_metadata_content_hash ON file_metadata(storage_provider, content_hash)
+    WHERE content_hash IS NOT NULL;
+
+-- Rows still to be migrated
+CREATE INDEX IF NOT EXISTS idx_file_metadata_database_content ON file_metadata(uploaded_at)
+    WHERE storage_provider = 'DATABASE' AND file_content IS NOT NULL;
+
+COMMENT ON COLUMN file_metadata.content_hash IS 'SHA-256 of the file content (hex), the BlobStore key for non-DATABASE storage providers';
+COMMENT ON COLUMN file_metadata.file_content IS 'Binary file content for storage_provider DATABASE only; other providers keep content in a BlobStore';
@@ -0,0 +1,37 @@
+-- ============================================================================
+-- File Content Split From File Metadata
+-- ============================================================================
+-- Content of DATABASE-stored files moves from file_metadata.file_content to
+-- its own table, referenced by file_metadata.content_id and loaded lazily.
+-- Listing files, completeness checks and primary file updates then read
+-- metadata rows only, without touching the (TOASTed) bytes.
+
+CREATE TABLE IF NOT EXISTS file_contents (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    content BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE file_metadata ADD COLUMN IF NOT EXISTS content_id UUID REFERENCES file_contents(id);
+
+-- Existing content keeps the file's id as its content id
+INSERT INTO file_contents (id, content, created_at)
+SELECT id, file_content, uploaded_at
+FROM file_metadata
+WHERE file_content IS NOT NULL;
+
+UPDATE file_metadata
+SET content_id = id
+WHERE file_content IS NOT NULL;
+
+-- Also drops idx_file_metadata_database_content
+ALTER TABLE file_metadata DROP COLUMN IF EXISTS file_content;
+
+CREATE INDEX IF NOT EXISTS idx_file_metadata_content_id ON file_metadata(content_id) WHERE content_id IS NOT NULL;
+
+-- Rows still to be moved to the blob store (BlobMigrationService)
+CREATE INDEX IF NOT EXISTS idx_file_metadata_database_content ON file_metadata(uploaded_at)
+    WHERE storage_provider = 'DATABASE' AND content_id IS NOT NULL;
+
+COMMENT ON TABLE file_contents IS 'Binary content of files with storage_provider DATABASE, split from file_metadata';
+COMMENT ON COLUMN file_metadata.content_id IS 'Content in file_contents for storage_provider DATABASE; null for BlobStore providers';
@@ -0,0 +1,61 @@
+-- ============================================================================
+-- Content-Hash Deduplication of Files
+-- ============================================================================
+-- Each distinct payload is stored once per storage provider and shared by
+-- every file_metadata row with the same content_hash. file_blobs counts those
+-- references (FileBlobService); the payload (file_contents row or BlobStore
+-- blob) is deleted when the last reference is released.
+
+CREATE TABLE IF NOT EXISTS file_blobs (
+    storage_provider VARCHAR(50) NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 0 CHECK (ref_count >= 0),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (storage_provider, content_hash)
+);
+
+-- Hash database content stored before hashes were kept
+ALTER TABLE file_contents ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+UPDATE file_contents
+SET content_hash = encode(sha256(content), 'hex')
+WHERE content_hash IS NULL;
+
+UPDATE file_metadata fm
+SET content_hash = fc.content_hash
+FROM file_contents fc
+WHERE fm.content_id = fc.id
+  AND fm.content_hash IS NULL;
+
+-- Point every file at one copy of its content and drop the other copies
+WITH canonical AS (
+    SELECT content_hash, MIN(id::text)::uuid AS id
+    FROM file_contents
+    GROUP BY content_hash
+)
+UPDATE file_metadata fm
+SET content_id = c.id
+FROM file_contents fc
+JOIN canonical c ON c.content_hash = fc.content_hash
+WHERE fm.content_id = fc.id
+  AND fm.content_id <> c.id;
+
+DELETE FROM file_contents fc
+WHERE NOT EXISTS (SELECT 1 FROM file_metadata fm WHERE fm.content_id = fc.id);
+
+ALTER TABLE file_contents ALTER COLUMN content_hash SET NOT NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS idx_file_contents_content_hash ON file_contents(content_hash);
+
+-- Reference counts of the files stored so far
+INSERT INTO file_blobs (storage_provider, content_hash, size_bytes, ref_count)
+SELECT storage_provider, content_hash, MAX(file_size), COUNT(*)
+FROM file_metadata
+WHERE content_hash IS NOT NULL
+  AND (storage_provider <> 'DATABASE' OR content_id IS NOT NULL)
+GROUP BY storage_provider, content_hash
+ON CONFLICT (storage_provider, content_hash) DO NOTHING;
+
+COMMENT ON TABLE file_blobs IS 'Reference counts of stored file payloads by storage provider and SHA-256, maintained by FileBlobService';
+COMMENT ON COLUMN file_blobs.ref_count IS 'Number of file_metadata rows sharing the payload; the payload is deleted when it drops to 0';
+COMMENT ON COLUMN file_contents.content_hash IS 'SHA-256 of the content (hex); identical content is stored once';
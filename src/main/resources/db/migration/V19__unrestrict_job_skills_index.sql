@@ -0,0 +1,10 @@
+-- ============================================================================
+-- Job Skills Index Without a Status Predicate
+-- ============================================================================
+-- ACTIVE searches are answered by the in-memory JobSearchIndex, so the skill
+-- filters that reach SQL run for other statuses, or for any status, with
+-- (:status IS NULL OR j.status = ...). A partial index limited to
+-- status = 'ACTIVE' can't serve those predicates; index every row instead.
+
+DROP INDEX IF EXISTS idx_jobs_skills_normalized;
+CREATE INDEX IF NOT EXISTS idx_jobs_skills_normalized ON jobs USING GIN(skills_normalized);
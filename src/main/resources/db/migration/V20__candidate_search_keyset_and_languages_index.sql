@@ -0,0 +1,13 @@
+-- ============================================================================
+-- Candidate Search: Stable Keyset and Languages Index
+-- ============================================================================
+-- Candidate search pages on (created_at, id) instead of
+-- COALESCE(updated_at, created_at): a profile edit moved the candidate across
+-- the cursor, so employers paging through results skipped or repeated them.
+-- The languages filter (languages_normalized && ...) added in V12 had no index.
+
+DROP INDEX IF EXISTS idx_profiles_last_activity;
+CREATE INDEX IF NOT EXISTS idx_profiles_created_at_id ON profiles (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_profile_metadata_languages_normalized ON profile_metadata
+    USING GIN(languages_normalized);
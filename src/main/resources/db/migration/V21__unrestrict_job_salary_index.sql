@@ -0,0 +1,10 @@
+-- ============================================================================
+-- Job Salary Index Without a Status Predicate
+-- ============================================================================
+-- Same problem as idx_jobs_skills_normalized (V19): ACTIVE searches are served
+-- by the in-memory JobSearchIndex, so the salary filters that reach SQL run for
+-- other statuses or with (:status IS NULL OR ...), which a partial index limited
+-- to status = 'ACTIVE' can't serve. Index every row instead.
+
+DROP INDEX IF EXISTS idx_jobs_salary_usd;
+CREATE INDEX IF NOT EXISTS idx_jobs_salary_usd ON jobs(salary_max_usd, salary_min_usd);
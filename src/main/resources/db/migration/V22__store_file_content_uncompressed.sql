@@ -0,0 +1,15 @@
+-- ============================================================================
+-- Uncompressed Out-of-Line Storage for File Content
+-- ============================================================================
+-- Ranged downloads read file_contents.content with SUBSTRING(content FROM ...
+-- FOR ...). With the default EXTENDED storage the value is compressed, so every
+-- chunk decompresses the whole file first. EXTERNAL keeps it out of line but
+-- uncompressed, and SUBSTRING then fetches only the TOAST chunks it covers.
+-- Uploaded files (PDF, DOCX, images) are already compressed, so little space
+-- is lost.
+
+ALTER TABLE file_contents ALTER COLUMN content SET STORAGE EXTERNAL;
+
+-- The storage setting only applies to values written from now on; rewrite the
+-- existing content so it is stored the new way
+UPDATE file_contents SET content = content || ''::bytea;
@@ -0,0 +1,153 @@
+package com.gradia.service;
+
+import com.gradia.dto.ApiResponse;
+import com.gradia.dto.JobResponse;
+import com.gradia.dto.JobSearchRequest;
+import com.gradia.dto.JobSearchResponse;
+import com.gradia.model.EmployerProfile;
+import com.gradia.model.Job;
+import com.gradia.model.User;
+import com.gradia.repository.EmployerProfileRepository;
+import com.gradia.repository.JobRepository;
+import com.gradia.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Regression test for the N+1 employer load: list endpoints must issue the same number of statements
+// however many jobs (and employers) they return
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class JobQueryCountTest {
+
+    private static final int JOBS_PER_EMPLOYER = 5;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+
+    @Autowired
+    private JobSearchCache jobSearchCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmployerProfileRepository employerProfileRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID employerUserId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Jobs from several employers, so a per-row employer load would show up as extra statements
+        employerUserId = createEmployerWithJobs("Acme");
+        createEmployerWithJobs("Globex");
+        createEmployerWithJobs("Initech");
+
+        jobSearchIndex.rebuild();
+        jobSearchCache.clear();
+    }
+
+    @Test
+    void browseReadsAllActiveJobsInOneStatement() {
+        statistics.clear();
+
+        ApiResponse<List<JobResponse>> response = jobService.getAllActiveJobs();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(response.getData()).hasSizeGreaterThanOrEqualTo(3 * JOBS_PER_EMPLOYER);
+        assertThat(response.getData()).allSatisfy(job -> assertThat(job.getEmployerName()).isNotNull());
+    }
+
+    @Test
+    void indexedSearchHydratesThePageInOneStatement() {
+        JobSearchRequest request = new JobSearchRequest();
+        request.setQuery("engineer");
+        request.setSize(50);
+
+        statistics.clear();
+
+        ApiResponse<JobSearchResponse> response = jobService.searchJobs(request);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        List<JobResponse> jobs = response.getData().getJobs();
+        assertThat(jobs).hasSizeGreaterThanOrEqualTo(3 * JOBS_PER_EMPLOYER);
+        assertThat(jobs).allSatisfy(job -> assertThat(job.getEmployerName()).isNotNull());
+    }
+
+    @Test
+    void employerJobsDoNotLoadTheEmployerPerJob() {
+        statistics.clear();
+        ApiResponse<List<JobResponse>> response = jobService.getEmployerJobs(employerUserId);
+        long statementsBefore = statistics.getPrepareStatementCount();
+        assertThat(response.getData()).hasSize(JOBS_PER_EMPLOYER);
+
+        EmployerProfile employer = employerProfileRepository.findByUserId(employerUserId).orElseThrow();
+        for (int i = 0; i < JOBS_PER_EMPLOYER; i++) {
+            jobRepository.save(newJob(employer, "Extra engineer " + i));
+        }
+
+        statistics.clear();
+        response = jobService.getEmployerJobs(employerUserId);
+
+        // User and employer profile lookups plus one projection query, independent of the number of jobs
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsBefore);
+        assertThat(statementsBefore).isLessThanOrEqualTo(4);
+        assertThat(response.getData()).hasSize(2 * JOBS_PER_EMPLOYER);
+    }
+
+    private UUID createEmployerWithJobs(String companyName) {
+        String suffix = UUID.randomUUID().toString();
+
+        User user = new User();
+        user.setEmail(companyName.toLowerCase() + "-" + suffix + "@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setRole(User.UserRole.EMPLOYER);
+        user = userRepository.save(user);
+
+        EmployerProfile employer = new EmployerProfile();
+        employer.setUser(user);
+        employer.setFullName(companyName + " Recruiter");
+        employer.setEmail(user.getEmail());
+        employer.setCompanyName(companyName);
+        employer.setWebsite("https://" + companyName.toLowerCase() + ".example.com");
+        employer = employerProfileRepository.save(employer);
+
+        for (int i = 0; i < JOBS_PER_EMPLOYER; i++) {
+            jobRepository.save(newJob(employer, "Software engineer " + i));
+        }
+        return user.getId();
+    }
+
+    private static Job newJob(EmployerProfile employer, String title) {
+        Job job = new Job();
+        job.setEmployer(employer);
+        job.setJobTitle(title);
+        job.setDescription("Builds and runs " + employer.getCompanyName() + " services");
+        job.setJobType("full-time");
+        job.setLocation("Remote");
+        job.setStatus(Job.JobStatus.ACTIVE);
+        job.setPostedDate(LocalDateTime.now());
+        return job;
+    }
+}